@@ -0,0 +1,779 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, column-oriented copy of the employee directory.
+ * <p>
+ * Ids are kept as the two halves of their UUID, salaries as an {@code int[]}, ages as unsigned bytes, titles and email
+ * domains as codes into dictionaries and names and email local parts in packed UTF-8 arenas, which takes roughly a
+ * third of the heap of the same employees as objects. Ids that are not canonical UUID strings and ages that do not fit
+ * in a byte are kept as they are. {@link #get(int)} materializes an {@link Employee} on demand, so the directory can
+ * still be served as a list.
+ * <p>
+ * The columns come with a salary ordering of their rows and a trigram index over the lower-cased names, so the highest
+ * salary and the top earners are read off the front of the ordering and a name search only verifies the rows listed
+ * under the query's rarest trigram. Creates and deletes do not copy the columns: a new version shares them and carries
+ * a small overlay of tombstoned rows and appended employees, which is folded into fresh columns once it grows past
+ * {@value #MAX_OVERLAY} entries.
+ */
+public final class ColumnarEmployees extends AbstractList<Employee> implements RandomAccess {
+
+    private static final int NO_SALARY = Integer.MIN_VALUE;
+
+    private static final int NO_AGE = 0xFF;
+
+    private static final int NO_CODE = -1;
+
+    private static final int MAX_OVERLAY = 1024;
+
+    private static final Comparator<Employee> HIGHEST_SALARY_FIRST =
+            Comparator.comparingInt(Employee::getEmployeeSalary).reversed();
+
+    private final int rows;
+
+    private final long[] idHigh;
+
+    private final long[] idLow;
+
+    private final Map<Integer, String> irregularIds;
+
+    private final Map<String, Integer> irregularRows;
+
+    private final int[] salaries;
+
+    private final byte[] ages;
+
+    private final Map<Integer, Integer> irregularAges;
+
+    private final int[] titleCodes;
+
+    private final String[] titles;
+
+    private final Utf8Column names;
+
+    private final Utf8Column searchableNames;
+
+    private final Utf8Column emailLocalParts;
+
+    private final int[] emailDomainCodes;
+
+    private final String[] emailDomains;
+
+    private final int[] idTable;
+
+    private final int[] rowsBySalary;
+
+    private final Trigrams trigrams;
+
+    /**
+     * Tombstoned rows of the columns, ascending.
+     */
+    private final int[] deadRows;
+
+    /**
+     * Employees written after the columns were built, in directory order after the live rows.
+     */
+    private final List<Employee> appended;
+
+    private final Map<String, Employee> appendedById;
+
+    private final List<Employee> appendedBySalary;
+
+    private final int size;
+
+    private ColumnarEmployees(Builder builder) {
+        this.rows = builder.size;
+        this.idHigh = Arrays.copyOf(builder.idHigh, rows);
+        this.idLow = Arrays.copyOf(builder.idLow, rows);
+        this.irregularIds = builder.irregularIds;
+        this.irregularRows = builder.irregularRows;
+        this.salaries = Arrays.copyOf(builder.salaries, rows);
+        this.ages = Arrays.copyOf(builder.ages, rows);
+        this.irregularAges = builder.irregularAges;
+        this.titleCodes = Arrays.copyOf(builder.titleCodes, rows);
+        this.titles = builder.titles.values();
+        this.names = builder.names.trimmed();
+        this.searchableNames = builder.searchableNames.trimmed();
+        this.emailLocalParts = builder.emailLocalParts.trimmed();
+        this.emailDomainCodes = Arrays.copyOf(builder.emailDomainCodes, rows);
+        this.emailDomains = builder.emailDomains.values();
+        this.idTable = buildIdTable();
+        this.rowsBySalary = buildSalaryOrder();
+        this.trigrams = Trigrams.build(searchableNames, rows);
+        this.deadRows = new int[0];
+        this.appended = List.of();
+        this.appendedById = Map.of();
+        this.appendedBySalary = List.of();
+        this.size = rows;
+    }
+
+    private ColumnarEmployees(ColumnarEmployees columns, int[] deadRows, List<Employee> appended) {
+        this.rows = columns.rows;
+        this.idHigh = columns.idHigh;
+        this.idLow = columns.idLow;
+        this.irregularIds = columns.irregularIds;
+        this.irregularRows = columns.irregularRows;
+        this.salaries = columns.salaries;
+        this.ages = columns.ages;
+        this.irregularAges = columns.irregularAges;
+        this.titleCodes = columns.titleCodes;
+        this.titles = columns.titles;
+        this.names = columns.names;
+        this.searchableNames = columns.searchableNames;
+        this.emailLocalParts = columns.emailLocalParts;
+        this.emailDomainCodes = columns.emailDomainCodes;
+        this.emailDomains = columns.emailDomains;
+        this.idTable = columns.idTable;
+        this.rowsBySalary = columns.rowsBySalary;
+        this.trigrams = columns.trigrams;
+        this.deadRows = deadRows;
+        this.appended = List.copyOf(appended);
+        Map<String, Employee> byId = new HashMap<>();
+        List<Employee> bySalary = new ArrayList<>();
+        for (Employee employee : appended) {
+            byId.put(employee.getId(), employee);
+            if (employee.getEmployeeSalary() != null) {
+                bySalary.add(employee);
+            }
+        }
+        // a stable sort, so ties keep directory order
+        bySalary.sort(HIGHEST_SALARY_FIRST);
+        this.appendedById = byId;
+        this.appendedBySalary = bySalary;
+        this.size = rows - deadRows.length + appended.size();
+    }
+
+    public static Builder builder() {
+        return new Builder(64);
+    }
+
+    public static ColumnarEmployees copyOf(List<Employee> employees) {
+        Builder builder = new Builder(employees.size());
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+
+    @Override
+    public Employee get(int index) {
+        Objects.checkIndex(index, size);
+        int liveRows = rows - deadRows.length;
+        return index < liveRows ? materialize(liveRow(index)) : appended.get(index - liveRows);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the employee with the given id, or {@code null} if there is none.
+     */
+    public Employee findById(String id) {
+        Employee written = appendedById.get(id);
+        if (written != null) {
+            return written;
+        }
+        int row = rowOf(id);
+        return row >= 0 && !isDead(row) ? materialize(row) : null;
+    }
+
+    /**
+     * Returns employees whose name contains the given fragment, ignoring case, in directory order.
+     *
+     * @param maxResults upper bound on the number of returned employees, or zero for no limit
+     */
+    public List<Employee> searchNames(String fragment, int maxResults) {
+        String query = fragment.toLowerCase(Locale.ROOT);
+        byte[] needle = query.getBytes(StandardCharsets.UTF_8);
+        int limit = maxResults > 0 ? maxResults : Integer.MAX_VALUE;
+        List<Employee> matches = new ArrayList<>();
+        if (needle.length < Trigrams.GRAM_BYTES) {
+            for (int row = 0; row < rows && matches.size() < limit; row++) {
+                if (searchableNames.contains(row, needle) && !isDead(row)) {
+                    matches.add(materialize(row));
+                }
+            }
+        } else {
+            int[] candidates = trigrams.candidates(needle);
+            for (int i = 0; i < candidates.length && matches.size() < limit; i++) {
+                int row = candidates[i];
+                if (searchableNames.contains(row, needle) && !isDead(row)) {
+                    matches.add(materialize(row));
+                }
+            }
+        }
+        for (int i = 0; i < appended.size() && matches.size() < limit; i++) {
+            String name = appended.get(i).getEmployeeName();
+            if (name != null && name.toLowerCase(Locale.ROOT).contains(query)) {
+                matches.add(appended.get(i));
+            }
+        }
+        return matches;
+    }
+
+    public int highestSalary() {
+        int highest = NO_SALARY;
+        for (int row : rowsBySalary) {
+            if (!isDead(row)) {
+                highest = salaries[row];
+                break;
+            }
+        }
+        if (!appendedBySalary.isEmpty()) {
+            highest = Math.max(highest, appendedBySalary.get(0).getEmployeeSalary());
+        }
+        return highest == NO_SALARY ? 0 : highest;
+    }
+
+    /**
+     * Names of the best paid employees, highest salary first; ties keep directory order.
+     */
+    public List<String> topEarnerNames(int limit) {
+        List<String> topNames = new ArrayList<>(limit);
+        int next = 0;
+        int nextAppended = 0;
+        while (topNames.size() < limit) {
+            while (next < rowsBySalary.length && isDead(rowsBySalary[next])) {
+                next++;
+            }
+            boolean rowsLeft = next < rowsBySalary.length;
+            boolean appendedLeft = nextAppended < appendedBySalary.size();
+            if (!rowsLeft && !appendedLeft) {
+                break;
+            }
+            // the columns come first in directory order, so they win ties
+            if (rowsLeft && (!appendedLeft
+                    || salaries[rowsBySalary[next]] >= appendedBySalary.get(nextAppended).getEmployeeSalary())) {
+                topNames.add(names.get(rowsBySalary[next++]));
+            } else {
+                topNames.add(appendedBySalary.get(nextAppended++).getEmployeeName());
+            }
+        }
+        return topNames;
+    }
+
+    /**
+     * Passes the title, salary and age of every employee to the consumer without materializing the column rows. An
+     * absent title is passed as {@code null}, an absent salary or age as -1.
+     */
+    void forEachAggregate(AggregateConsumer consumer) {
+        int nextDead = 0;
+        for (int row = 0; row < rows; row++) {
+            if (nextDead < deadRows.length && deadRows[nextDead] == row) {
+                nextDead++;
+                continue;
+            }
+            Integer age = age(row);
+            consumer.accept(
+                    titleCodes[row] == NO_CODE ? null : titles[titleCodes[row]],
+                    salaries[row] == NO_SALARY ? -1 : salaries[row],
+                    age == null ? -1 : age);
+        }
+        for (Employee employee : appended) {
+            consumer.accept(
+                    employee.getEmployeeTitle(),
+                    employee.getEmployeeSalary() == null ? -1 : employee.getEmployeeSalary(),
+                    employee.getEmployeeAge() == null ? -1 : employee.getEmployeeAge());
+        }
+    }
+
+    /**
+     * Returns a copy with the given employee appended, replacing any employee with the same id.
+     */
+    public ColumnarEmployees withUpserted(Employee employee) {
+        return withUpserted(List.of(employee));
+    }
+
+    /**
+     * Returns a copy with the given employees appended, replacing any employees with the same ids.
+     */
+    public ColumnarEmployees withUpserted(List<Employee> employees) {
+        Set<String> ids = new HashSet<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        List<Employee> written = new ArrayList<>(appended.size() + employees.size());
+        for (Employee employee : appended) {
+            if (!ids.contains(employee.getId())) {
+                written.add(employee);
+            }
+        }
+        written.addAll(employees);
+        return withOverlay(tombstoned(ids), written);
+    }
+
+    /**
+     * Returns a copy without the employee with the given id, or this instance if there is no such employee.
+     */
+    public ColumnarEmployees without(String id) {
+        return without(Collections.singleton(id));
+    }
+
+    /**
+     * Returns a copy without the employees with the given ids, or this instance if there are no such employees.
+     */
+    public ColumnarEmployees without(Collection<String> ids) {
+        int[] dead = tombstoned(ids);
+        List<Employee> written = new ArrayList<>(appended.size());
+        for (Employee employee : appended) {
+            if (!ids.contains(employee.getId())) {
+                written.add(employee);
+            }
+        }
+        if (dead.length == deadRows.length && written.size() == appended.size()) {
+            return this;
+        }
+        return withOverlay(dead, written);
+    }
+
+    /**
+     * The dead rows plus the live rows holding any of the given ids, ascending.
+     */
+    private int[] tombstoned(Collection<String> ids) {
+        int[] dead = Arrays.copyOf(deadRows, deadRows.length + ids.size());
+        int count = deadRows.length;
+        for (String id : ids) {
+            int row = rowOf(id);
+            if (row >= 0 && !isDead(row)) {
+                dead[count++] = row;
+            }
+        }
+        if (count == deadRows.length) {
+            return deadRows;
+        }
+        dead = Arrays.copyOf(dead, count);
+        Arrays.sort(dead);
+        return dead;
+    }
+
+    private ColumnarEmployees withOverlay(int[] dead, List<Employee> written) {
+        if (dead.length + written.size() <= MAX_OVERLAY) {
+            return new ColumnarEmployees(this, dead, written);
+        }
+        Builder builder = new Builder(rows - dead.length + written.size());
+        int nextDead = 0;
+        for (int row = 0; row < rows; row++) {
+            if (nextDead < dead.length && dead[nextDead] == row) {
+                nextDead++;
+            } else {
+                builder.addRow(this, row);
+            }
+        }
+        written.forEach(builder::add);
+        return builder.build();
+    }
+
+    private boolean isDead(int row) {
+        return deadRows.length > 0 && Arrays.binarySearch(deadRows, row) >= 0;
+    }
+
+    /**
+     * The row holding the live employee at the given position. That row is the position plus the number of dead rows
+     * before it, the first {@code k} with {@code deadRows[k] - k > index}; {@code deadRows[k] - k} never decreases.
+     */
+    private int liveRow(int index) {
+        int low = 0;
+        int high = deadRows.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (deadRows[middle] - middle > index) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return index + low;
+    }
+
+    /**
+     * The row of the columns holding the given id, dead or not, or -1.
+     */
+    private int rowOf(String id) {
+        UUID uuid = canonicalUuid(id);
+        if (uuid == null) {
+            return irregularRows.getOrDefault(id, -1);
+        }
+        int mask = idTable.length - 1;
+        for (int slot = hash(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) & mask;
+                idTable[slot] != 0;
+                slot = (slot + 1) & mask) {
+            int row = idTable[slot] - 1;
+            if (idHigh[row] == uuid.getMostSignificantBits() && idLow[row] == uuid.getLeastSignificantBits()) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private Employee materialize(int row) {
+        return new Employee(
+                id(row),
+                names.get(row),
+                salaries[row] == NO_SALARY ? null : salaries[row],
+                age(row),
+                titleCodes[row] == NO_CODE ? null : titles[titleCodes[row]],
+                email(row));
+    }
+
+    private String email(int row) {
+        String localPart = emailLocalParts.get(row);
+        int domainCode = emailDomainCodes[row];
+        return domainCode == NO_CODE ? localPart : localPart + '@' + emailDomains[domainCode];
+    }
+
+    private Integer age(int row) {
+        int age = Byte.toUnsignedInt(ages[row]);
+        if (age != NO_AGE) {
+            return age;
+        }
+        return irregularAges.get(row);
+    }
+
+    private String id(int row) {
+        if (irregularIds.containsKey(row)) {
+            return irregularIds.get(row);
+        }
+        return new UUID(idHigh[row], idLow[row]).toString();
+    }
+
+    /**
+     * Rows with a salary, highest first and in row order among equal salaries. Sorted as packed longs: salary in the
+     * high half, complemented row in the low half, ascending and then read backwards.
+     */
+    private int[] buildSalaryOrder() {
+        long[] keys = new long[rows];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            if (salaries[row] != NO_SALARY) {
+                keys[count++] = ((long) salaries[row] << 32) | (~row & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ~(int) keys[count - 1 - i];
+        }
+        return order;
+    }
+
+    private int[] buildIdTable() {
+        int capacity = 2;
+        while (capacity < rows * 2) {
+            capacity <<= 1;
+        }
+        int[] table = new int[capacity];
+        int mask = capacity - 1;
+        for (int row = 0; row < rows; row++) {
+            if (irregularIds.containsKey(row)) {
+                continue;
+            }
+            int slot = hash(idHigh[row], idLow[row]) & mask;
+            while (table[slot] != 0) {
+                int other = table[slot] - 1;
+                if (idHigh[other] == idHigh[row] && idLow[other] == idLow[row]) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // a later duplicate replaces the earlier row, as a map keyed by id would
+            table[slot] = row + 1;
+        }
+        return table;
+    }
+
+    private static int hash(long high, long low) {
+        long mixed = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * Parses an id that round-trips exactly through {@link UUID}, so that it can be stored as two longs.
+     */
+    private static UUID canonicalUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Receives the title, salary and age of one employee from {@link #forEachAggregate}.
+     */
+    @FunctionalInterface
+    interface AggregateConsumer {
+        void accept(String title, int salary, int age);
+    }
+
+    /**
+     * Appends employees one at a time, e.g. straight from a streamed upstream response.
+     */
+    public static final class Builder {
+        private int size;
+        private long[] idHigh;
+        private long[] idLow;
+        private final Map<Integer, String> irregularIds = new HashMap<>();
+        private final Map<String, Integer> irregularRows = new HashMap<>();
+        private int[] salaries;
+        private byte[] ages;
+        private final Map<Integer, Integer> irregularAges = new HashMap<>();
+        private int[] titleCodes;
+        private final CodeBook titles = new CodeBook();
+        private final Utf8Column names;
+        private final Utf8Column searchableNames;
+        private final Utf8Column emailLocalParts;
+        private int[] emailDomainCodes;
+        private final CodeBook emailDomains = new CodeBook();
+
+        private Builder(int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            idHigh = new long[capacity];
+            idLow = new long[capacity];
+            salaries = new int[capacity];
+            ages = new byte[capacity];
+            titleCodes = new int[capacity];
+            emailDomainCodes = new int[capacity];
+            names = new Utf8Column(capacity);
+            searchableNames = new Utf8Column(capacity);
+            emailLocalParts = new Utf8Column(capacity);
+        }
+
+        public Builder add(Employee employee) {
+            int row = nextRow();
+            UUID uuid = canonicalUuid(employee.getId());
+            if (uuid == null) {
+                irregularId(row, employee.getId());
+            } else {
+                idHigh[row] = uuid.getMostSignificantBits();
+                idLow[row] = uuid.getLeastSignificantBits();
+            }
+            salaries[row] = employee.getEmployeeSalary() == null ? NO_SALARY : employee.getEmployeeSalary();
+            Integer age = employee.getEmployeeAge();
+            if (age != null && age >= 0 && age < NO_AGE) {
+                ages[row] = (byte) (int) age;
+            } else {
+                ages[row] = (byte) NO_AGE;
+                if (age != null) {
+                    irregularAges.put(row, age);
+                }
+            }
+            titleCodes[row] = titles.encode(employee.getEmployeeTitle());
+            String name = employee.getEmployeeName();
+            names.append(name);
+            searchableNames.append(name == null ? null : name.toLowerCase(Locale.ROOT));
+            String email = employee.getEmployeeEmail();
+            int at = email == null ? -1 : email.lastIndexOf('@');
+            if (at < 0) {
+                emailLocalParts.append(email);
+                emailDomainCodes[row] = NO_CODE;
+            } else {
+                emailLocalParts.append(email.substring(0, at));
+                emailDomainCodes[row] = emailDomains.encode(email.substring(at + 1));
+            }
+            return this;
+        }
+
+        public ColumnarEmployees build() {
+            return new ColumnarEmployees(this);
+        }
+
+        private void addRow(ColumnarEmployees source, int sourceRow) {
+            int row = nextRow();
+            if (source.irregularIds.containsKey(sourceRow)) {
+                irregularId(row, source.irregularIds.get(sourceRow));
+            } else {
+                idHigh[row] = source.idHigh[sourceRow];
+                idLow[row] = source.idLow[sourceRow];
+            }
+            salaries[row] = source.salaries[sourceRow];
+            ages[row] = source.ages[sourceRow];
+            if (source.irregularAges.containsKey(sourceRow)) {
+                irregularAges.put(row, source.irregularAges.get(sourceRow));
+            }
+            titleCodes[row] = titles.encodeFrom(source.titles, source.titleCodes[sourceRow]);
+            names.appendFrom(source.names, sourceRow);
+            searchableNames.appendFrom(source.searchableNames, sourceRow);
+            emailLocalParts.appendFrom(source.emailLocalParts, sourceRow);
+            emailDomainCodes[row] = emailDomains.encodeFrom(source.emailDomains, source.emailDomainCodes[sourceRow]);
+        }
+
+        private void irregularId(int row, String id) {
+            irregularIds.put(row, id);
+            irregularRows.putIfAbsent(id, row);
+        }
+
+        private int nextRow() {
+            if (size == salaries.length) {
+                int capacity = size * 2;
+                idHigh = Arrays.copyOf(idHigh, capacity);
+                idLow = Arrays.copyOf(idLow, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                titleCodes = Arrays.copyOf(titleCodes, capacity);
+                emailDomainCodes = Arrays.copyOf(emailDomainCodes, capacity);
+            }
+            return size++;
+        }
+    }
+
+    /**
+     * Dictionary of distinct values handed out as dense codes in first-seen order.
+     */
+    private static final class CodeBook {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        private int encodeFrom(String[] sourceValues, int sourceCode) {
+            return sourceCode == NO_CODE ? NO_CODE : encode(sourceValues[sourceCode]);
+        }
+
+        private String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Rows of the name column by the three-byte runs of their lower-cased UTF-8 name. Each posting list holds its rows
+     * ascending, as varint deltas in one shared byte array, which keeps the index to a few bytes per name character.
+     */
+    private static final class Trigrams {
+        private static final int GRAM_BYTES = 3;
+
+        private static final int[] NONE = new int[0];
+
+        private final int[] grams;
+
+        private final int[] counts;
+
+        private final int[] starts;
+
+        private final byte[] postings;
+
+        private Trigrams(int[] grams, int[] counts, int[] starts, byte[] postings) {
+            this.grams = grams;
+            this.counts = counts;
+            this.starts = starts;
+            this.postings = postings;
+        }
+
+        private static Trigrams build(Utf8Column column, int rows) {
+            Map<Integer, Posting> byGram = new HashMap<>();
+            for (int row = 0; row < rows; row++) {
+                int current = row;
+                column.forEachGram(row, gram -> byGram.computeIfAbsent(gram, key -> new Posting()).add(current));
+            }
+            int[] grams = byGram.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] counts = new int[grams.length];
+            int[] starts = new int[grams.length + 1];
+            Posting encoded = new Posting();
+            for (int i = 0; i < grams.length; i++) {
+                Posting posting = byGram.get(grams[i]);
+                counts[i] = posting.count;
+                starts[i] = encoded.count;
+                int previous = 0;
+                for (int j = 0; j < posting.count; j++) {
+                    encoded.writeVarint(posting.values[j] - previous);
+                    previous = posting.values[j];
+                }
+            }
+            starts[grams.length] = encoded.count;
+            byte[] postings = new byte[encoded.count];
+            for (int i = 0; i < postings.length; i++) {
+                postings[i] = (byte) encoded.values[i];
+            }
+            return new Trigrams(grams, counts, starts, postings);
+        }
+
+        /**
+         * Ascending rows that contain the needle's rarest trigram, a superset of the rows containing the needle.
+         */
+        private int[] candidates(byte[] needle) {
+            int rarest = -1;
+            for (int i = 0; i + GRAM_BYTES <= needle.length; i++) {
+                int index = Arrays.binarySearch(grams, Utf8Column.gram(needle, i));
+                if (index < 0) {
+                    return NONE;
+                }
+                if (rarest < 0 || counts[index] < counts[rarest]) {
+                    rarest = index;
+                }
+            }
+            int[] rows = new int[counts[rarest]];
+            int position = starts[rarest];
+            int row = 0;
+            for (int i = 0; i < rows.length; i++) {
+                int delta = 0;
+                for (int shift = 0; ; shift += 7) {
+                    byte next = postings[position++];
+                    delta |= (next & 0x7F) << shift;
+                    if (next >= 0) {
+                        break;
+                    }
+                }
+                row += delta;
+                rows[i] = row;
+            }
+            return rows;
+        }
+
+        /**
+         * Growable int list; rows are only added once per gram even when a name repeats it.
+         */
+        private static final class Posting {
+            private int[] values = new int[4];
+            private int count;
+
+            private void add(int row) {
+                if (count > 0 && values[count - 1] == row) {
+                    return;
+                }
+                append(row);
+            }
+
+            private void writeVarint(int value) {
+                while ((value & ~0x7F) != 0) {
+                    append((value & 0x7F) | 0x80);
+                    value >>>= 7;
+                }
+                append(value);
+            }
+
+            private void append(int value) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = value;
+            }
+        }
+    }
+}
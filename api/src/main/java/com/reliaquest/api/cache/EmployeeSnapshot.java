@@ -0,0 +1,13 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An immutable copy of the employee directory as last loaded from the mock server, with its aggregates.
+ */
+public record EmployeeSnapshot(long version, List<Employee> employees, Instant loadedAt, EmployeeStats stats) {
+}
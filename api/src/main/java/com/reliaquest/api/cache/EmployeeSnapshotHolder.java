@@ -0,0 +1,397 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.index.EmployeeIndexes;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeApiClient;
+import com.reliaquest.api.service.UpstreamRequestCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Serves the employee directory from the last good snapshot and refreshes it in the background.
+ * <p>
+ * Only the very first read waits for the mock server. Creates and deletes are written through to the snapshot and its
+ * indexes, each producing a new version. A fixed-schedule refresh reconciles with the mock server; it is requested
+ * early once the local version has run a configured number of writes ahead of the last loaded one, or when a delete
+ * does not match the local copy. Local writes that land while a refresh is loading are replayed onto the loaded list
+ * before it is swapped in, so a burst of writes cannot keep discarding refreshes, and a failed refresh keeps serving
+ * the previous snapshot.
+ * <p>
+ * With {@code employee.snapshot.columnar} enabled, snapshots are held as {@link ColumnarEmployees} and the object
+ * indexes stay empty.
+ * <p>
+ * Every snapshot carries its aggregate statistics, maintained alongside the indexes in either layout.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotHolder implements MeterBinder {
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final UpstreamRequestCoalescer requestCoalescer;
+
+    private final EmployeeIndexes employeeIndexes;
+
+    private final Executor refreshExecutor;
+
+    private final int reconcileAfterWrites;
+
+    private final int pageSize;
+
+    private final boolean columnar;
+
+    private final EmployeeStatistics statistics = new EmployeeStatistics();
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private final AtomicLong failedRefreshes = new AtomicLong();
+
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final Object writeLock = new Object();
+
+    private final List<LocalWrite> writesDuringLoad = new ArrayList<>();
+
+    private volatile boolean loading;
+
+    private volatile long loadedVersion;
+
+    public EmployeeSnapshotHolder(
+            EmployeeApiClient employeeApiClient,
+            UpstreamRequestCoalescer requestCoalescer,
+            EmployeeIndexes employeeIndexes,
+            @Qualifier("upstreamExecutor") Executor refreshExecutor,
+            @Value("${employee.snapshot.reconcile-after-writes:100}") int reconcileAfterWrites,
+            @Value("${mockserver.page-size:0}") int pageSize,
+            @Value("${employee.snapshot.columnar:false}") boolean columnar) {
+        this.employeeApiClient = employeeApiClient;
+        this.requestCoalescer = requestCoalescer;
+        this.employeeIndexes = employeeIndexes;
+        this.refreshExecutor = refreshExecutor;
+        this.reconcileAfterWrites = reconcileAfterWrites;
+        this.pageSize = pageSize;
+        this.columnar = columnar;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.snapshot.size", current, latest -> {
+                    EmployeeSnapshot snapshot = latest.get();
+                    return snapshot == null ? 0 : snapshot.employees().size();
+                })
+                .description("Employees in the current snapshot")
+                .register(registry);
+        Gauge.builder("employee.snapshot.local.writes", this, holder -> holder.versions.get() - holder.loadedVersion)
+                .description("Creates and deletes applied locally since the snapshot was last loaded")
+                .register(registry);
+        FunctionCounter.builder("employee.snapshot.loads", loads, AtomicLong::get)
+                .description("Snapshot loads from the mock server, by result")
+                .tag("result", "loaded")
+                .register(registry);
+        FunctionCounter.builder("employee.snapshot.loads", failedRefreshes, AtomicLong::get)
+                .description("Snapshot loads from the mock server, by result")
+                .tag("result", "failed")
+                .register(registry);
+    }
+
+    /**
+     * Returns the current snapshot without loading one, or {@code null} if none has been loaded yet.
+     */
+    public EmployeeSnapshot peekSnapshot() {
+        return current.get();
+    }
+
+    public List<Employee> getEmployees() {
+        return getSnapshot().employees();
+    }
+
+    public EmployeeSnapshot getSnapshot() {
+        EmployeeSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    /**
+     * Loads a new snapshot from the mock server and swaps it in, sharing the load with concurrent callers.
+     */
+    public EmployeeSnapshot refresh() {
+        requestCoalescer.getAllEmployees(this::load);
+        return current.get();
+    }
+
+    /**
+     * Writes a newly created employee through to the snapshot and its indexes.
+     */
+    public void applyCreated(Employee employee) {
+        applyCreated(List.of(employee));
+    }
+
+    /**
+     * Writes a batch of newly created employees through to the snapshot and its indexes as a single new version.
+     */
+    public void applyCreated(List<Employee> created) {
+        EmployeeSnapshot published;
+        synchronized (writeLock) {
+            if (created.isEmpty()) {
+                return;
+            }
+            recordDuringLoad(new LocalWrite(List.copyOf(created), null));
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                return;
+            }
+            List<Employee> employees;
+            if (snapshot.employees() instanceof ColumnarEmployees columns) {
+                for (Employee employee : created) {
+                    Employee replaced = columns.findById(employee.getId());
+                    if (replaced != null) {
+                        statistics.remove(replaced);
+                    }
+                }
+                employees = columns.withUpserted(created);
+            } else {
+                Set<String> createdIds = new HashSet<>();
+                created.forEach(employee -> createdIds.add(employee.getId()));
+                employees = new ArrayList<>(snapshot.employees().size() + created.size());
+                for (Employee existing : snapshot.employees()) {
+                    if (createdIds.contains(existing.getId())) {
+                        statistics.remove(existing);
+                    } else {
+                        employees.add(existing);
+                    }
+                }
+                employees.addAll(created);
+                created.forEach(employeeIndexes::add);
+            }
+            created.forEach(statistics::add);
+            published = publish(employees);
+        }
+        reconcileIfBehind(published);
+    }
+
+    /**
+     * Removes a deleted employee from the snapshot and its indexes.
+     */
+    public void applyDeleted(String id) {
+        applyDeleted(Collections.singleton(id));
+    }
+
+    /**
+     * Removes a batch of deleted employees from the snapshot and its indexes as a single new version.
+     */
+    public void applyDeleted(Collection<String> ids) {
+        Set<String> deletedIds = new HashSet<>(ids);
+        EmployeeSnapshot published = null;
+        int removed;
+        synchronized (writeLock) {
+            if (deletedIds.isEmpty()) {
+                return;
+            }
+            recordDuringLoad(new LocalWrite(null, deletedIds));
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                return;
+            }
+            List<Employee> employees;
+            if (snapshot.employees() instanceof ColumnarEmployees columns) {
+                for (String id : deletedIds) {
+                    Employee deleted = columns.findById(id);
+                    if (deleted != null) {
+                        statistics.remove(deleted);
+                    }
+                }
+                employees = columns.without(deletedIds);
+            } else {
+                employees = new ArrayList<>(snapshot.employees().size());
+                for (Employee existing : snapshot.employees()) {
+                    if (deletedIds.contains(existing.getId())) {
+                        statistics.remove(existing);
+                    } else {
+                        employees.add(existing);
+                    }
+                }
+            }
+            removed = snapshot.employees().size() - employees.size();
+            if (removed > 0) {
+                deletedIds.forEach(employeeIndexes::remove);
+                published = publish(employees);
+            }
+        }
+        if (removed < deletedIds.size() && !loading) {
+            log.warn("{} of {} deleted employees were not in the snapshot, reconciling",
+                    deletedIds.size() - removed, deletedIds.size());
+            requestRefresh();
+        } else if (published != null) {
+            reconcileIfBehind(published);
+        }
+    }
+
+    /**
+     * Schedules a background refresh; requests arriving while one is running are folded into a single follow-up.
+     */
+    public void requestRefresh() {
+        refreshRequested.set(true);
+        if (refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(this::drainRefreshRequests);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.snapshot.refresh-interval:PT1M}")
+    void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    private List<Employee> load() {
+        synchronized (writeLock) {
+            writesDuringLoad.clear();
+            loading = true;
+        }
+        List<Employee> employees;
+        try {
+            employees = fetch();
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                loading = false;
+                writesDuringLoad.clear();
+            }
+            throw ex;
+        }
+        synchronized (writeLock) {
+            loading = false;
+            // the loaded list may predate writes confirmed while it was loading; upserts and deletes by id are
+            // idempotent, so replaying them is right whether or not the list already reflects them
+            for (LocalWrite write : writesDuringLoad) {
+                employees = write.applyTo(employees);
+            }
+            writesDuringLoad.clear();
+            // a columnar snapshot answers its own queries; the object indexes would pin every employee on the heap
+            employeeIndexes.rebuild(columnar ? Collections.emptyList() : employees);
+            statistics.rebuild(employees);
+            EmployeeSnapshot snapshot = publish(employees);
+            loadedVersion = snapshot.version();
+            loads.incrementAndGet();
+            return snapshot.employees();
+        }
+    }
+
+    private List<Employee> fetch() {
+        if (columnar) {
+            ColumnarEmployees.Builder columns = ColumnarEmployees.builder();
+            fetchInto(columns::add);
+            return columns.build();
+        }
+        List<Employee> employees = new ArrayList<>();
+        fetchInto(employees::add);
+        return employees;
+    }
+
+    private void fetchInto(Consumer<Employee> sink) {
+        if (pageSize <= 0) {
+            employeeApiClient.streamAllEmployees(sink);
+            return;
+        }
+        Iterator<List<Employee>> pages = employeeApiClient.getEmployeePages(pageSize);
+        while (pages.hasNext()) {
+            pages.next().forEach(sink);
+        }
+    }
+
+    private void recordDuringLoad(LocalWrite write) {
+        if (loading) {
+            writesDuringLoad.add(write);
+        }
+    }
+
+    private void reconcileIfBehind(EmployeeSnapshot snapshot) {
+        // a load in flight replays the writes made meanwhile, which reconciles them already
+        if (!loading && snapshot.version() - loadedVersion >= reconcileAfterWrites) {
+            requestRefresh();
+        }
+    }
+
+    private EmployeeSnapshot publish(List<Employee> employees) {
+        List<Employee> published =
+                employees instanceof ColumnarEmployees ? employees : Collections.unmodifiableList(employees);
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(
+                versions.incrementAndGet(), published, Instant.now(), statistics.summarize());
+        current.set(snapshot);
+        return snapshot;
+    }
+
+    private void drainRefreshRequests() {
+        try {
+            while (refreshRequested.getAndSet(false)) {
+                refreshQuietly();
+            }
+        } finally {
+            refreshing.set(false);
+        }
+        if (refreshRequested.get() && refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(this::drainRefreshRequests);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            failedRefreshes.incrementAndGet();
+            log.warn("Employee snapshot refresh failed, keeping the previous snapshot: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * A create (upsert) or delete batch that was applied locally while a load was in flight.
+     */
+    private record LocalWrite(List<Employee> created, Set<String> deletedIds) {
+
+        List<Employee> applyTo(List<Employee> employees) {
+            if (employees instanceof ColumnarEmployees columns) {
+                return created != null ? columns.withUpserted(created) : columns.without(deletedIds);
+            }
+            Set<String> replacedIds = deletedIds;
+            if (created != null) {
+                replacedIds = new HashSet<>();
+                for (Employee employee : created) {
+                    replacedIds.add(employee.getId());
+                }
+            }
+            List<Employee> applied = new ArrayList<>(employees.size() + (created != null ? created.size() : 0));
+            for (Employee existing : employees) {
+                if (!replacedIds.contains(existing.getId())) {
+                    applied.add(existing);
+                }
+            }
+            if (created != null) {
+                applied.addAll(created);
+            }
+            return applied;
+        }
+    }
+}
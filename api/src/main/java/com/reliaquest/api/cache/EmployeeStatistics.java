@@ -0,0 +1,179 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
+import com.reliaquest.api.util.QuantileSketch;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained aggregates over the employee directory, from which {@link EmployeeSnapshotHolder} attaches
+ * an {@link EmployeeStats} to every snapshot it publishes.
+ * <p>
+ * Headcount, salary sum, age bands and a {@link QuantileSketch} of salaries are kept per title and for the whole
+ * directory, so a create or delete only touches its own title and the running total. Minimum and maximum salaries are
+ * exact: each aggregate also counts its employees per distinct salary in sorted order, so deleting the current extreme
+ * finds the next one in logarithmic time, without visiting any other employee. A title's figures are only recomputed
+ * when it changed since the last summary. Employees without a title are aggregated under a {@code null} key and
+ * reported apart from the titles. Not thread-safe; the holder only calls it under its write lock.
+ */
+class EmployeeStatistics {
+
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final int[] PERCENTILES = {50, 75, 90, 95, 99};
+
+    private static final int[] AGE_BAND_STARTS = {25, 35, 45, 55, 65};
+
+    private static final String[] AGE_BANDS = {"under 25", "25-34", "35-44", "45-54", "55-64", "65 and over"};
+
+    private final Map<String, Aggregate> byTitle = new HashMap<>();
+
+    private Aggregate total = new Aggregate();
+
+    void rebuild(List<Employee> employees) {
+        byTitle.clear();
+        total = new Aggregate();
+        forEachAggregate(employees, this::add);
+    }
+
+    void add(Employee employee) {
+        add(employee.getEmployeeTitle(), salary(employee), age(employee));
+    }
+
+    void remove(Employee employee) {
+        String title = employee.getEmployeeTitle();
+        Aggregate aggregate = byTitle.get(title);
+        if (aggregate == null) {
+            return;
+        }
+        aggregate.remove(salary(employee), age(employee));
+        total.remove(salary(employee), age(employee));
+        if (aggregate.count == 0) {
+            byTitle.remove(title);
+        }
+    }
+
+    EmployeeStats summarize() {
+        Map<String, EmployeeStats.TitleStats> titles = new TreeMap<>();
+        for (Map.Entry<String, Aggregate> entry : byTitle.entrySet()) {
+            if (entry.getKey() != null) {
+                titles.put(entry.getKey(), entry.getValue().titleStats());
+            }
+        }
+        Aggregate untitled = byTitle.get(null);
+        Map<String, Long> ageBands = new LinkedHashMap<>();
+        for (int band = 0; band < AGE_BANDS.length; band++) {
+            ageBands.put(AGE_BANDS[band], total.ageBands[band]);
+        }
+        return new EmployeeStats(
+                total.count,
+                total.titleStats().salary(),
+                Collections.unmodifiableMap(ageBands),
+                Collections.unmodifiableMap(titles),
+                untitled != null ? untitled.titleStats() : null);
+    }
+
+    private void add(String title, int salary, int age) {
+        byTitle.computeIfAbsent(title, key -> new Aggregate()).add(salary, age);
+        total.add(salary, age);
+    }
+
+    private static void forEachAggregate(List<Employee> employees, ColumnarEmployees.AggregateConsumer consumer) {
+        if (employees instanceof ColumnarEmployees columns) {
+            columns.forEachAggregate(consumer);
+            return;
+        }
+        for (Employee employee : employees) {
+            consumer.accept(employee.getEmployeeTitle(), salary(employee), age(employee));
+        }
+    }
+
+    private static int salary(Employee employee) {
+        Integer salary = employee.getEmployeeSalary();
+        return salary != null ? salary : -1;
+    }
+
+    private static int age(Employee employee) {
+        Integer age = employee.getEmployeeAge();
+        return age != null ? age : -1;
+    }
+
+    private static int ageBand(int age) {
+        int band = 0;
+        while (band < AGE_BAND_STARTS.length && age >= AGE_BAND_STARTS[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static final class Aggregate {
+        private final QuantileSketch salaries = new QuantileSketch(RELATIVE_ACCURACY);
+        private final TreeMap<Integer, Integer> salaryCounts = new TreeMap<>();
+        private final long[] ageBands = new long[AGE_BANDS.length];
+        private long count;
+        private long salarySum;
+        private EmployeeStats.TitleStats summary;
+
+        private void add(int salary, int age) {
+            summary = null;
+            count++;
+            if (salary >= 0) {
+                salaries.add(salary);
+                salarySum += salary;
+                salaryCounts.merge(salary, 1, Integer::sum);
+            }
+            if (age >= 0) {
+                ageBands[ageBand(age)]++;
+            }
+        }
+
+        private void remove(int salary, int age) {
+            summary = null;
+            count--;
+            if (salary >= 0) {
+                salaries.remove(salary);
+                salarySum -= salary;
+                salaryCounts.computeIfPresent(salary, (key, salaryCount) -> salaryCount > 1 ? salaryCount - 1 : null);
+            }
+            if (age >= 0) {
+                ageBands[ageBand(age)]--;
+            }
+        }
+
+        private EmployeeStats.TitleStats titleStats() {
+            if (summary == null) {
+                summary = salaryCounts.isEmpty()
+                        ? new EmployeeStats.TitleStats(count, salaryStats(0, 0))
+                        : new EmployeeStats.TitleStats(
+                                count, salaryStats(salaryCounts.firstKey(), salaryCounts.lastKey()));
+            }
+            return summary;
+        }
+
+        private EmployeeStats.SalaryStats salaryStats(int minSalary, int maxSalary) {
+            long salaryCount = salaries.count();
+            if (salaryCount == 0) {
+                return new EmployeeStats.SalaryStats(0, 0, null, null, null, Map.of());
+            }
+            Map<String, Integer> percentiles = new LinkedHashMap<>();
+            for (int percentile : PERCENTILES) {
+                // an estimate never lies outside the salaries actually seen
+                long estimate = Math.round(salaries.quantile(percentile / 100.0));
+                percentiles.put("p" + percentile, (int) Math.max(minSalary, Math.min(maxSalary, estimate)));
+            }
+            return new EmployeeStats.SalaryStats(
+                    salaryCount,
+                    salarySum,
+                    minSalary,
+                    maxSalary,
+                    (double) salarySum / salaryCount,
+                    Collections.unmodifiableMap(percentiles));
+        }
+    }
+}
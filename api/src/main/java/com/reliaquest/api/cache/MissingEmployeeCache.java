@@ -0,0 +1,36 @@
+package com.reliaquest.api.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers ids the mock server recently answered with 404, so repeated lookups of unknown ids do not spend its
+ * request budget. Bounded and short-lived through the {@code missingEmployee} cache policy.
+ */
+@Component
+public class MissingEmployeeCache {
+
+    static final String CACHE_NAME = "missingEmployee";
+
+    private final Cache cache;
+
+    public MissingEmployeeCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    public boolean isMissing(String id) {
+        return cache.get(id) != null;
+    }
+
+    public void recordMissing(String id) {
+        cache.put(id, Boolean.TRUE);
+    }
+
+    /**
+     * Forgets every remembered id; called when an employee is created, since the mock server assigns the id.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.api.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * A column of strings packed as UTF-8 into one byte arena, addressed by row through an offset table.
+ * <p>
+ * Appends are only made while a {@link ColumnarEmployees} is being built; {@link #trimmed()} then fixes the arrays at
+ * their final size.
+ */
+final class Utf8Column {
+
+    private byte[] arena;
+
+    private int[] offsets;
+
+    private final BitSet nulls;
+
+    private int size;
+
+    Utf8Column(int expectedRows) {
+        this(new byte[Math.max(16, expectedRows * 16)], new int[Math.max(2, expectedRows + 1)], new BitSet(), 0);
+    }
+
+    private Utf8Column(byte[] arena, int[] offsets, BitSet nulls, int size) {
+        this.arena = arena;
+        this.offsets = offsets;
+        this.nulls = nulls;
+        this.size = size;
+    }
+
+    void append(String value) {
+        if (value == null) {
+            appendBytes(null, 0, 0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            appendBytes(bytes, 0, bytes.length);
+        }
+    }
+
+    void appendFrom(Utf8Column source, int row) {
+        appendBytes(source.nulls.get(row) ? null : source.arena, source.offsets[row], source.length(row));
+    }
+
+    String get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        return new String(arena, offsets[row], length(row), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether the value in the given row contains the UTF-8 encoded needle. UTF-8 is self-synchronizing, so a byte
+     * match is a match on whole characters.
+     */
+    boolean contains(int row, byte[] needle) {
+        if (nulls.get(row)) {
+            return false;
+        }
+        int start = offsets[row];
+        int last = offsets[row + 1] - needle.length;
+        for (int i = start; i <= last; i++) {
+            if (Arrays.equals(arena, i, i + needle.length, needle, 0, needle.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Passes every run of three bytes in the given row to the consumer, packed into the low 24 bits of an int.
+     */
+    void forEachGram(int row, IntConsumer consumer) {
+        if (nulls.get(row)) {
+            return;
+        }
+        for (int i = offsets[row]; i + 3 <= offsets[row + 1]; i++) {
+            consumer.accept(gram(arena, i));
+        }
+    }
+
+    static int gram(byte[] bytes, int from) {
+        return (bytes[from] & 0xFF) << 16 | (bytes[from + 1] & 0xFF) << 8 | bytes[from + 2] & 0xFF;
+    }
+
+    Utf8Column trimmed() {
+        return new Utf8Column(
+                Arrays.copyOf(arena, offsets[size]), Arrays.copyOf(offsets, size + 1), (BitSet) nulls.clone(), size);
+    }
+
+    private int length(int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+    private void appendBytes(byte[] bytes, int from, int length) {
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int start = offsets[size];
+        if (bytes == null) {
+            nulls.set(size);
+        } else {
+            if (start + length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, start + length));
+            }
+            System.arraycopy(bytes, from, arena, start, length);
+        }
+        offsets[++size] = start + (bytes == null ? 0 : length);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the sampled {@link AccessLogFilter} unless {@code employee.access-log.enabled} is false.
+ */
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "employee.access-log.enabled", havingValue = "true", matchIfMissing = true)
+    public AccessLogFilter accessLogFilter(AccessLogProperties properties) {
+        return new AccessLogFilter(properties);
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.api.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one line per sampled request to the {@code com.reliaquest.api.access} logger: method, route, status and
+ * duration. Requests are sampled per endpoint (the controller method name) with the rates from
+ * {@link AccessLogProperties}; server errors and requests slower than the threshold are always logged. Each line
+ * carries the rate it was sampled at, so counts can be scaled back up.
+ * <p>
+ * Nothing is formatted for requests that are not logged. Streamed responses are logged once the body has been
+ * written, so their duration includes it.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER_NAME = "com.reliaquest.api.access";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private static final String UNMATCHED = "unmatched";
+
+    private final AccessLogProperties properties;
+
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(start));
+            } else {
+                log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start);
+            }
+        }
+    }
+
+    void log(HttpServletRequest request, int status, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        String endpoint = endpoint(request);
+        double rate = properties.sampleRate(endpoint);
+        boolean forced = status >= 500 || elapsedNanos >= slowThresholdNanos;
+        if (!forced && !sampled(rate)) {
+            return;
+        }
+        ACCESS_LOG.info(
+                "method={} route={} endpoint={} status={} durationMicros={} sampleRate={}",
+                request.getMethod(),
+                route(request),
+                endpoint,
+                status,
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                forced ? 1.0 : rate);
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                ? handler.getMethod().getName()
+                : UNMATCHED;
+    }
+
+    private static Object route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern : UNMATCHED;
+    }
+
+    private class CompletionListener implements AsyncListener {
+
+        private final long start;
+
+        private boolean logged;
+
+        CompletionListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            logOnce(event, ((HttpServletResponse) event.getSuppliedResponse()).getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            logOnce(event, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            logOnce(event, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void logOnce(AsyncEvent event, int status) {
+            if (!logged) {
+                logged = true;
+                log((HttpServletRequest) event.getSuppliedRequest(), status, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sampling for the access log written by {@link AccessLogFilter}.
+ *
+ * @param enabled whether the filter is registered at all
+ * @param sampleRate fraction of requests logged, between 0 and 1
+ * @param slowThreshold requests taking at least this long are always logged
+ * @param endpoints sample rates that override {@code sampleRate}, keyed by controller method name
+ */
+@ConfigurationProperties(prefix = "employee.access-log")
+public record AccessLogProperties(
+        Boolean enabled, Double sampleRate, Duration slowThreshold, Map<String, Double> endpoints) {
+
+    public AccessLogProperties {
+        enabled = enabled != null ? enabled : true;
+        sampleRate = sampleRate != null ? sampleRate : 0.01;
+        slowThreshold = slowThreshold != null ? slowThreshold : Duration.ofSeconds(1);
+        endpoints = endpoints != null ? endpoints : Map.of();
+    }
+
+    public double sampleRate(String endpoint) {
+        return endpoints.getOrDefault(endpoint, sampleRate);
+    }
+}
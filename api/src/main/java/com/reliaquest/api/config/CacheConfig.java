@@ -0,0 +1,71 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Bounded Caffeine caches with per-cache policies from {@link CacheProperties}.
+ * <p>
+ * Every cache records statistics, which the actuator publishes as {@code cache.gets} (hit/miss), {@code cache.puts},
+ * {@code cache.evictions} and {@code cache.size} on the metrics endpoint. A cache configured with
+ * {@code refresh-after-write} is built as a loading cache around the {@code <cacheName>CacheLoader} bean; lookups on
+ * such a cache load misses through that loader as well.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    private static final String LOADER_SUFFIX = "CacheLoader";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties, Map<String, CacheLoader<Object, Object>> loaders) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(properties.defaults()));
+        properties.caches().forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = builder(spec);
+            if (spec.refreshAfterWrite() == null) {
+                cacheManager.registerCustomCache(name, builder.build());
+                return;
+            }
+            CacheLoader<Object, Object> loader = loaders.get(name + LOADER_SUFFIX);
+            if (loader == null) {
+                throw new IllegalStateException(
+                        "Cache '" + name + "' sets refresh-after-write but has no " + name + LOADER_SUFFIX + " bean");
+            }
+            cacheManager.registerCustomCache(name, builder.build(loader));
+        });
+        return cacheManager;
+    }
+
+    /**
+     * Loads through the service's own lookup, which sees the snapshot, the missing-id cache and the request coalescer.
+     * The service is resolved on first use, since it depends on this cache manager itself.
+     */
+    @Bean
+    public CacheLoader<Object, Object> employeeCacheLoader(ObjectProvider<EmployeeService> employeeService) {
+        return id -> employeeService.getObject().loadEmployeeById((String) id);
+    }
+
+    private Caffeine<Object, Object> builder(CacheProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.maximumSize() != null) {
+            builder.maximumSize(spec.maximumSize());
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        if (spec.refreshAfterWrite() != null) {
+            builder.refreshAfterWrite(spec.refreshAfterWrite());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-cache size and expiry policies for the Caffeine cache manager, keyed by cache name. Caches without an entry of
+ * their own fall back to {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "employee.cache")
+public record CacheProperties(Spec defaults, Map<String, Spec> caches) {
+
+    public CacheProperties {
+        defaults = defaults != null ? defaults : new Spec(1000L, null, null);
+        caches = caches != null ? caches : Map.of();
+    }
+
+    /**
+     * @param maximumSize entries kept before least-recently-used ones are evicted
+     * @param expireAfterWrite how long an entry is served after it was written
+     * @param refreshAfterWrite age after which a read triggers an asynchronous reload; needs a loader for the cache
+     */
+    public record Spec(Long maximumSize, Duration expireAfterWrite, Duration refreshAfterWrite) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.config;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Lets at most {@code limit} decorated tasks run at once. The permit is taken on the task's own thread rather than by
+ * the submitter, so handing a task to the executor never blocks; on virtual threads the waiting tasks just park.
+ */
+final class ConcurrencyLimitTaskDecorator implements TaskDecorator {
+
+    private final Semaphore permits;
+
+    ConcurrencyLimitTaskDecorator(int limit) {
+        this.permits = new Semaphore(limit);
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        return () -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+}
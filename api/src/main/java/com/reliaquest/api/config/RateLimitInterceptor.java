@@ -0,0 +1,53 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.util.AdaptiveRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces every upstream request through the {@link AdaptiveRateLimiter} and reports back whether it was throttled. The
+ * time each request waits for its permit is recorded as {@value #WAIT_TIMER}.
+ */
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String WAIT_TIMER = "employee.upstream.rate-limit.wait";
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    private final Timer waitTimer;
+
+    public RateLimitInterceptor(AdaptiveRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.waitTimer = Timer.builder(WAIT_TIMER)
+                .description("Time upstream requests wait for the client-side rate limiter")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long waitStart = System.nanoTime();
+        long permit;
+        try {
+            permit = rateLimiter.acquire();
+        } finally {
+            waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            rateLimiter.onThrottled(permit);
+        } else {
+            rateLimiter.onAccepted(permit);
+        }
+        return response;
+    }
+}
@@ -1,17 +1,116 @@
 package com.reliaquest.api.config;
 
-import io.github.resilience4j.retry.RetryRegistry;
-import lombok.extern.slf4j.Slf4j;
+import com.reliaquest.api.util.AdaptiveRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * HTTP client toward the mock employee server.
+ * <p>
+ * Connections are pooled and kept alive between calls; responses are requested gzip-compressed and decompressed
+ * transparently by the client.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(
+            @Value("${mockserver.client.max-connections:50}") int maxConnections,
+            @Value("${mockserver.client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${mockserver.client.read-timeout:10s}") Duration readTimeout,
+            @Value("${mockserver.client.keep-alive:30s}") Duration keepAlive,
+            MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .build();
+        // leased, idle and pending connections, the last being requests waiting for the pool
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "upstream").bindTo(meterRegistry);
+        TimeValue keepAliveDuration = TimeValue.ofMilliseconds(keepAlive.toMillis());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> keepAliveDuration)
+                .evictIdleConnections(keepAliveDuration)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(
+            CloseableHttpClient upstreamHttpClient,
+            ObjectProvider<AdaptiveRateLimiter> upstreamRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${mockserver.client.connection-request-timeout:5s}") Duration connectionRequestTimeout) {
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+        requestFactory.setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis());
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        upstreamRateLimiter.ifAvailable(
+                rateLimiter -> restTemplate.getInterceptors().add(
+                        new RateLimitInterceptor(rateLimiter, meterRegistry)));
+        return restTemplate;
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnProperty(value = "mockserver.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public AdaptiveRateLimiter upstreamRateLimiter(
+            @Value("${mockserver.rate-limit.initial-cooldown:10s}") Duration initialCooldown,
+            @Value("${mockserver.rate-limit.min-cooldown:1s}") Duration minCooldown,
+            @Value("${mockserver.rate-limit.max-cooldown:30s}") Duration maxCooldown,
+            @Value("${mockserver.rate-limit.max-wait:60s}") Duration maxWait,
+            @Value("${mockserver.rate-limit.probe-after-cycles:20}") int probeAfterCycles) {
+        return new AdaptiveRateLimiter(initialCooldown, minCooldown, maxCooldown, maxWait, probeAfterCycles);
     }
 
+    /**
+     * Runs the non-blocking {@code *Async} calls of the employee API client; sized to the connection pool so fanned-out
+     * requests queue here instead of waiting on a pooled connection.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor upstreamExecutor(@Value("${mockserver.client.max-connections:50}") int maxConnections) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConnections);
+        executor.setMaxPoolSize(maxConnections);
+        executor.setThreadNamePrefix("upstream-");
+        return executor;
+    }
+
+    /**
+     * With virtual threads enabled every call gets its own virtual thread, which waits for one of as many permits as
+     * the connection pool has connections before it runs. Submitting never blocks, so neither request threads nor the
+     * shared timer thread behind the write batcher's windows stall when the pool is busy.
+     */
+    @Bean("upstreamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualUpstreamExecutor(
+            @Value("${mockserver.client.max-connections:50}") int maxConnections) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("upstream-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new ConcurrencyLimitTaskDecorator(maxConnections));
+        return executor;
+    }
 }
@@ -2,72 +2,127 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
 import com.reliaquest.api.service.IEmployeeService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
-@Slf4j
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeRequest> {
 
     private final IEmployeeService employeeService;
 
+    private final EmployeeJsonStreamWriter employeeJsonStreamWriter;
+
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        log.info("Controller: Getting all employees");
         List<Employee> employees = employeeService.getAllEmployees();
         return new ResponseEntity<>(employees, HttpStatus.OK);
     }
 
+    /**
+     * Same response as {@link #getAllEmployees()}, written to the socket employee by employee from the cached
+     * snapshot, selected with {@code ?stream=true}.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        List<Employee> employees = employeeService.getAllEmployees();
+        StreamingResponseBody body = out -> employeeJsonStreamWriter.writeArray(employees, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @Override
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
         if(searchString == null){
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        log.info("Controller: Searching employees by name: {}", searchString);
         List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString);
         return ResponseEntity.ok(employees);
     }
 
     @Override
     public ResponseEntity<Employee> getEmployeeById(String id) {
-        log.info("Controller: Getting employeeById {}", id);
         Employee employee = employeeService.getEmployeeById(id);
         return ResponseEntity.ok(employee);
     }
 
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        log.info("Controller: Getting highest salary");
         return ResponseEntity.ok(employeeService.getHighestSalaryOfEmployees());
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        log.info("Controller: Getting top ten employees with highest salary");
         List<String> tenHighestSalary = employeeService.getTopTenHighestSalariedEmployee();
         return ResponseEntity.ok(tenHighestSalary);
     }
 
     @Override
     public ResponseEntity<Employee> createEmployee(CreateEmployeeRequest employeeInput) {
-        log.info("Controller: Creating employee: {}", employeeInput.getName());
         Employee createdEmployee = employeeService.createEmployee(employeeInput);
         return ResponseEntity.ok(createdEmployee);
     }
 
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
-        log.info("Controller: Deleting employee by id: {}", id);
         String deletedEmployeeName = employeeService.deleteEmployeeById(id);
         return ResponseEntity.ok(deletedEmployeeName);
     }
+
+    /**
+     * Headcount, salary aggregates, age bands and per-title figures for the whole directory, precomputed with each
+     * snapshot version.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<EmployeeStats> getEmployeeStats() {
+        return ResponseEntity.ok(employeeService.getEmployeeStats());
+    }
+
+    @GetMapping("/stats/salary")
+    public ResponseEntity<EmployeeStats.SalaryStats> getSalaryStats() {
+        return ResponseEntity.ok(employeeService.getEmployeeStats().salary());
+    }
+
+    @GetMapping("/stats/titles")
+    public ResponseEntity<Map<String, EmployeeStats.TitleStats>> getTitleStats() {
+        return ResponseEntity.ok(employeeService.getEmployeeStats().titles());
+    }
+
+    @GetMapping("/stats/ages")
+    public ResponseEntity<Map<String, Long>> getAgeBands() {
+        return ResponseEntity.ok(employeeService.getEmployeeStats().ageBands());
+    }
+
+    /**
+     * Creates several employees with one upstream request per thousand.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<Employee>> createEmployees(@Valid @RequestBody List<CreateEmployeeRequest> employeeInputs) {
+        return ResponseEntity.ok(employeeService.createEmployees(employeeInputs));
+    }
+
+    /**
+     * Deletes several employees by id with one upstream request per thousand and returns the deleted names.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<String>> deleteEmployeesByIds(@RequestBody @NotEmpty List<@NotBlank String> ids) {
+        return ResponseEntity.ok(employeeService.deleteEmployeesByIds(ids));
+    }
 }
@@ -0,0 +1,47 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes employees as a JSON array straight to a response stream, one employee at a time.
+ * <p>
+ * The Employee serializer is resolved once, and the generator's buffer comes from Jackson's buffer recycler, so a
+ * response needs the same small amount of memory whatever the size of the directory. The output is identical to
+ * serializing the list with the application's {@link ObjectMapper}.
+ */
+@Component
+public class EmployeeJsonStreamWriter {
+
+    private final JsonFactory jsonFactory;
+
+    private final ObjectWriter employeeWriter;
+
+    public EmployeeJsonStreamWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        // the default flushes after every value, which would turn each employee into its own socket write
+        this.employeeWriter = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void writeArray(List<Employee> employees, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            // the servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (Employee employee : employees) {
+                employeeWriter.writeValue(generator, employee);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
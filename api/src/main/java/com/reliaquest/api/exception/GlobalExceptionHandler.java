@@ -4,9 +4,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.method.ParameterErrors;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +45,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Invalid elements of a list body, such as a batch create. Field errors are keyed by element index and field, e.g.
+     * {@code [1].name}.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, List<String>>> handleHandlerMethodValidation(HandlerMethodValidationException ex) {
+        Map<String, List<String>> errors = new HashMap<>();
+        ex.getAllValidationResults().forEach(result -> {
+            if (result instanceof ParameterErrors parameterErrors) {
+                Integer index = parameterErrors.getContainerIndex();
+                String prefix = index != null ? "[" + index + "]." : "";
+                parameterErrors.getFieldErrors().forEach(error -> errors
+                        .computeIfAbsent(prefix + error.getField(), key -> new ArrayList<>())
+                        .add(error.getDefaultMessage()));
+            } else {
+                String parameter = result.getMethodParameter().getParameterName();
+                result.getResolvableErrors().forEach(error -> errors
+                        .computeIfAbsent(parameter, key -> new ArrayList<>())
+                        .add(error.getDefaultMessage()));
+            }
+        });
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String,String>> handleIllegalArgumentException(Exception ex){
         log.error("Input not valid: {}", ex.getMessage(), ex);
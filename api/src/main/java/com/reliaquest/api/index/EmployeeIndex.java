@@ -0,0 +1,17 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.List;
+
+/**
+ * A derived lookup structure over the cached employee directory, kept in step with it by {@link EmployeeIndexes}.
+ */
+public interface EmployeeIndex {
+
+    void rebuild(List<Employee> employees);
+
+    void add(Employee employee);
+
+    void remove(String id);
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps every {@link EmployeeIndex} in step with the employee directory: rebuilt together when a new snapshot is
+ * loaded and patched together on create/delete.
+ */
+@Component
+public class EmployeeIndexes {
+
+    private final List<EmployeeIndex> indexes;
+
+    public EmployeeIndexes(List<EmployeeIndex> indexes) {
+        this.indexes = List.copyOf(indexes);
+    }
+
+    public void rebuild(List<Employee> employees) {
+        indexes.forEach(index -> index.rebuild(employees));
+    }
+
+    public void add(Employee employee) {
+        indexes.forEach(index -> index.add(employee));
+    }
+
+    public void remove(String id) {
+        indexes.forEach(index -> index.remove(id));
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index by employee id over the cached employee directory, so single lookups need not go to the mock server
+ * once a snapshot is loaded.
+ */
+@Component
+public class IdIndex implements EmployeeIndex {
+
+    private volatile Map<String, Employee> byId = new ConcurrentHashMap<>();
+
+    @Override
+    public void rebuild(List<Employee> employees) {
+        Map<String, Employee> rebuilt = new ConcurrentHashMap<>(employees == null ? 16 : employees.size() * 2);
+        if (employees != null) {
+            employees.forEach(employee -> put(rebuilt, employee));
+        }
+        byId = rebuilt;
+    }
+
+    @Override
+    public void add(Employee employee) {
+        put(byId, employee);
+    }
+
+    @Override
+    public void remove(String id) {
+        if (id != null) {
+            byId.remove(id);
+        }
+    }
+
+    /**
+     * Returns the indexed employee with the given id, or {@code null} if it is not in the cached directory.
+     */
+    public Employee get(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    private static void put(Map<String, Employee> target, Employee employee) {
+        if (employee != null && employee.getId() != null) {
+            target.put(employee.getId(), employee);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index for case-insensitive substring search over employee names.
+ * <p>
+ * Names are lower-cased once when indexed. A query of three or more characters only verifies the employees listed
+ * under its rarest trigram; shorter queries fall back to a scan over the pre-normalized names. Results keep the order
+ * of the source list.
+ */
+@Component
+public class NameIndex implements EmployeeIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State(0);
+
+    @Override
+    public void rebuild(List<Employee> employees) {
+        State rebuilt = new State(employees == null ? 0 : employees.size());
+        if (employees != null) {
+            employees.forEach(rebuilt::add);
+        }
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            state.add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            state.remove(id);
+            if (state.deadSlots > state.liveSlots()) {
+                state = state.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns employees whose name contains the given fragment, ignoring case.
+     *
+     * @param maxResults upper bound on the number of returned employees, or zero for no limit
+     */
+    public List<Employee> search(String fragment, int maxResults) {
+        String query = normalize(fragment);
+        int limit = maxResults > 0 ? maxResults : Integer.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            return query.length() < GRAM_LENGTH ? state.scan(query, limit) : state.lookup(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static final class State {
+        private Employee[] employees;
+        private String[] names;
+        private int size;
+        private int deadSlots;
+        private final Map<String, Integer> slotsById = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        private State(int capacity) {
+            employees = new Employee[Math.max(capacity, 16)];
+            names = new String[employees.length];
+        }
+
+        private int liveSlots() {
+            return size - deadSlots;
+        }
+
+        private void add(Employee employee) {
+            if (employee == null || employee.getEmployeeName() == null) {
+                return;
+            }
+            if (employee.getId() != null) {
+                remove(employee.getId());
+            }
+            if (size == employees.length) {
+                employees = Arrays.copyOf(employees, size * 2);
+                names = Arrays.copyOf(names, size * 2);
+            }
+            int slot = size++;
+            String name = normalize(employee.getEmployeeName());
+            employees[slot] = employee;
+            names[slot] = name;
+            if (employee.getId() != null) {
+                slotsById.put(employee.getId(), slot);
+            }
+            for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+                postings.computeIfAbsent(gram(name, i), key -> new Postings()).append(slot);
+            }
+        }
+
+        private void remove(String id) {
+            if (id == null) {
+                return;
+            }
+            Integer slot = slotsById.remove(id);
+            if (slot != null) {
+                employees[slot] = null;
+                names[slot] = null;
+                deadSlots++;
+            }
+        }
+
+        private State compact() {
+            State compacted = new State(liveSlots());
+            for (int slot = 0; slot < size; slot++) {
+                if (employees[slot] != null) {
+                    compacted.add(employees[slot]);
+                }
+            }
+            return compacted;
+        }
+
+        private List<Employee> scan(String query, int limit) {
+            List<Employee> matches = new ArrayList<>();
+            for (int slot = 0; slot < size && matches.size() < limit; slot++) {
+                if (names[slot] != null && names[slot].contains(query)) {
+                    matches.add(employees[slot]);
+                }
+            }
+            return matches;
+        }
+
+        private List<Employee> lookup(String query, int limit) {
+            Postings rarest = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                Postings candidates = postings.get(gram(query, i));
+                if (candidates == null) {
+                    return new ArrayList<>();
+                }
+                if (rarest == null || candidates.size < rarest.size) {
+                    rarest = candidates;
+                }
+            }
+            List<Employee> matches = new ArrayList<>();
+            for (int i = 0; i < rarest.size && matches.size() < limit; i++) {
+                int slot = rarest.slots[i];
+                if (names[slot] != null && names[slot].contains(query)) {
+                    matches.add(employees[slot]);
+                }
+            }
+            return matches;
+        }
+    }
+
+    /**
+     * Ascending slot numbers for one trigram; slots are handed out in increasing order so appending keeps it sorted.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        private void append(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Salary-ordered index over the cached employee directory.
+ * <p>
+ * The highest salary is answered in O(1) and the top earners in O(K) instead of scanning and sorting the full list.
+ * Ties keep the order of the source list, matching a stable sort by salary.
+ */
+@Component
+public class SalaryIndex implements EmployeeIndex {
+
+    private static final Comparator<Entry> HIGHEST_SALARY_FIRST = Comparator.comparingInt(Entry::salary)
+            .reversed()
+            .thenComparingLong(Entry::sequence);
+
+    private volatile State state = new State();
+
+    @Override
+    public void rebuild(List<Employee> employees) {
+        State rebuilt = new State();
+        if (employees != null) {
+            employees.forEach(rebuilt::add);
+        }
+        state = rebuilt;
+    }
+
+    @Override
+    public void add(Employee employee) {
+        state.add(employee);
+    }
+
+    @Override
+    public void remove(String id) {
+        state.remove(id);
+    }
+
+    public int highestSalary() {
+        Iterator<Entry> entries = state.ordered.iterator();
+        return entries.hasNext() ? entries.next().salary() : 0;
+    }
+
+    public List<String> topEarnerNames(int limit) {
+        List<String> names = new ArrayList<>(limit);
+        Iterator<Entry> entries = state.ordered.iterator();
+        while (names.size() < limit && entries.hasNext()) {
+            names.add(entries.next().employee().getEmployeeName());
+        }
+        return names;
+    }
+
+    private record Entry(int salary, long sequence, Employee employee) {
+    }
+
+    private static final class State {
+        private final ConcurrentSkipListSet<Entry> ordered = new ConcurrentSkipListSet<>(HIGHEST_SALARY_FIRST);
+        private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+        private final AtomicLong nextSequence = new AtomicLong();
+
+        private void add(Employee employee) {
+            if (employee == null || employee.getEmployeeSalary() == null) {
+                return;
+            }
+            Entry entry = new Entry(employee.getEmployeeSalary(), nextSequence.getAndIncrement(), employee);
+            if (employee.getId() != null) {
+                Entry previous = byId.put(employee.getId(), entry);
+                if (previous != null) {
+                    ordered.remove(previous);
+                }
+            }
+            ordered.add(entry);
+        }
+
+        private void remove(String id) {
+            if (id == null) {
+                return;
+            }
+            Entry entry = byId.remove(id);
+            if (entry != null) {
+                ordered.remove(entry);
+            }
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.reliaquest.api.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.reliaquest.common.TitleDeserializer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,6 +24,7 @@ public class Employee {
     private Integer employeeAge;
 
     @JsonProperty("employee_title")
+    @JsonDeserialize(using = TitleDeserializer.class)
     private String employeeTitle;
 
     @JsonProperty("employee_email")
@@ -0,0 +1,16 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the mock server's employee listing; {@code nextCursor} is {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeePage {
+    private List<Employee> employees;
+    private String nextCursor;
+}
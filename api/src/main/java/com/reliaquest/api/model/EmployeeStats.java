@@ -0,0 +1,37 @@
+package com.reliaquest.api.model;
+
+import java.util.Map;
+
+/**
+ * Aggregates over the whole employee directory, precomputed with every snapshot version.
+ *
+ * @param count employees in the directory
+ * @param salary salary aggregates over all employees that have a salary
+ * @param ageBands headcount per age band, youngest first; employees without an age are not counted
+ * @param titles headcount and salary aggregates per title, by title
+ * @param untitled headcount and salary aggregates of employees without a title, or {@code null} if every employee has
+ *     one
+ */
+public record EmployeeStats(
+        long count,
+        SalaryStats salary,
+        Map<String, Long> ageBands,
+        Map<String, TitleStats> titles,
+        TitleStats untitled) {
+
+    /**
+     * @param count employees with a salary
+     * @param sum total of their salaries
+     * @param min lowest salary, or {@code null} without any salaries
+     * @param max highest salary, or {@code null} without any salaries
+     * @param average mean salary, or {@code null} without any salaries
+     * @param percentiles estimated salary at each percentile, keyed {@code p50}, {@code p90} and so on; within 1% of
+     *     an actual salary at that rank
+     */
+    public record SalaryStats(
+            long count, long sum, Integer min, Integer max, Double average, Map<String, Integer> percentiles) {
+    }
+
+    public record TitleStats(long count, SalaryStats salary) {
+    }
+}
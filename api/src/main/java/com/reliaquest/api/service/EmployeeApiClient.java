@@ -1,101 +1,271 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.ExternalApiException;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.util.MicroBatcher;
+import com.reliaquest.api.util.RetryAttempts;
+import com.reliaquest.common.EmployeeApiLimits;
+import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import static com.reliaquest.common.EmployeeApiLimits.MAX_BATCH_SIZE;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmployeeApiClient {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String BATCH_PATH = "/batch";
+
+    static final String CALL_TIMER = "employee.upstream.calls";
+
+    static final String RETRY_NAME = "externalApiRetry";
+
     private final RestTemplate restTemplate;
 
     @Value("${mockserver.base-url: http://localhost:8112/api/v1/employee}")
     private String baseUrl;
 
-//    @Retry(name = "externalApiRetry")
-//    public List<Employee> getAllEmployees() {
-//        try{
-//            log.info("Fetching all employees from External Api");
-//            ResponseEntity<ApiResponse<List<Employee>>> response = restTemplate.exchange(
-//                    baseUrl,
-//                    HttpMethod.GET,
-//                    null,
-//                    new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}
-//            );
-//
-//            if(response.getBody() !=null && response.getBody().getData()!=null){
-//                log.info("Successfully fetched employees");
-//                return response.getBody().getData();
-//            }
-//            return Collections.emptyList();
-//        } catch (HttpClientErrorException.TooManyRequests ex){
-//            log.error("Too many requests, will retry: {}", ex.getMessage());
-//            throw new RuntimeException("Too many requests", ex);
-//        }
-//        catch (Exception ex){
-//            log.error("Error fetching all employees: {}", ex.getMessage());
-//            throw new RuntimeException("Failed to fetch employees", ex);
-//        }
-//    }
+    @Autowired
+    @Qualifier("upstreamExecutor")
+    private Executor upstreamExecutor;
+
+    @Autowired
+    @Lazy
+    EmployeeApiClient self;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private RetryRegistry retryRegistry;
+
+    private final RetryAttempts retryAttempts = new RetryAttempts();
+
+    @Value("${mockserver.write-batching.window:0ms}")
+    private Duration writeBatchWindow;
+
+    @Value("${mockserver.write-batching.max-size:100}")
+    private int writeBatchMaxSize;
+
+    private MicroBatcher<CreateEmployeeRequest, Employee> createBatcher;
+
+    private MicroBatcher<String, Boolean> deleteBatcher;
+
+    @PostConstruct
+    void initRetryAttempts() {
+        if (retryRegistry != null) {
+            retryAttempts.bindTo(retryRegistry.retry(RETRY_NAME));
+        }
+    }
+
+    /**
+     * With a positive write-batching window, single creates and deletes from concurrent callers are queued and sent
+     * together through the batch endpoints, one upstream request per window. The batch call is retried on 429 like an
+     * unbatched write; if it fails for any other reason, such as one invalid employee, each item is sent again as a
+     * batch of its own, so only the callers whose own write fails see an error. A max-size above the mock server's
+     * {@value EmployeeApiLimits#MAX_BATCH_SIZE} is rejected at startup, since every full batch would fail.
+     */
+    @PostConstruct
+    void initWriteBatching() {
+        if (writeBatchWindow.isZero() || writeBatchWindow.isNegative()) {
+            return;
+        }
+        if (writeBatchMaxSize < 1 || writeBatchMaxSize > MAX_BATCH_SIZE) {
+            throw new IllegalStateException("mockserver.write-batching.max-size must be between 1 and "
+                    + MAX_BATCH_SIZE + ", the mock server's batch limit, but was " + writeBatchMaxSize);
+        }
+        log.info("Batching writes to the external API every {} or {} items", writeBatchWindow, writeBatchMaxSize);
+        createBatcher = new MicroBatcher<>(
+                requests -> self.createEmployeeBatch(requests),
+                request -> self.createEmployeeBatch(List.of(request)).get(0),
+                EmployeeApiClient::isNotThrottled,
+                writeBatchMaxSize,
+                writeBatchWindow,
+                upstreamExecutor);
+        deleteBatcher = new MicroBatcher<>(
+                employeeNames -> self.deleteEmployeeBatch(employeeNames),
+                employeeName -> self.deleteEmployeeBatch(List.of(employeeName)).get(0),
+                EmployeeApiClient::isNotThrottled,
+                writeBatchMaxSize,
+                writeBatchWindow,
+                upstreamExecutor);
+    }
 
+    /**
+     * Reads the full employee listing token by token from the response stream and hands each employee to the consumer
+     * as soon as it is parsed, without building the response object or an intermediate list.
+     * <p>
+     * A retry can only follow a 429, which arrives before any employee has been passed on, so the consumer never sees
+     * the same listing twice.
+     *
+     * @return the number of employees passed to the consumer
+     */
     @Retry(name = "externalApiRetry")
-    public List<Employee> getAllEmployees() {
-        log.info("Fetching all employees from External Api");
+    public int streamAllEmployees(Consumer<Employee> consumer) {
+        log.debug("Streaming all employees from External Api");
         try {
-            ResponseEntity<ApiResponse<List<Employee>>> response = restTemplate.exchange(
+            Integer count = timed("streamAllEmployees", () -> restTemplate.execute(
                     baseUrl,
                     HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}
-            );
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> readEmployees(response.getBody(), consumer)
+            ));
+            log.debug("Successfully streamed {} employees", count);
+            return count == null ? 0 : count;
+        } catch (HttpClientErrorException.TooManyRequests ex) {
+            log.warn("Too many requests (429), will retry. Message: {}", ex.getMessage());
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Unexpected error streaming employees: {}", ex.getMessage());
+            throw new ExternalApiException("Failed to fetch employees from external API");
+        }
+    }
 
-            if (response.getBody() != null && response.getBody().getData() != null) {
-                log.info("Successfully fetched employees");
-                return response.getBody().getData();
+    int readEmployees(InputStream body, Consumer<Employee> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object but found " + parser.currentToken());
+            }
+            ObjectReader employeeReader = objectMapper.readerFor(Employee.class);
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && "data".equals(field)) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        if (element == JsonToken.VALUE_NULL) {
+                            continue;
+                        }
+                        if (element != JsonToken.START_OBJECT) {
+                            throw new IOException("Expected an employee object in data but found " + element);
+                        }
+                        consumer.accept(employeeReader.readValue(parser));
+                        count++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
             }
+            return count;
+        }
+    }
 
-            log.warn("API returned empty response");
-            return Collections.emptyList();
+    /**
+     * Fetches one page of the employee listing.
+     *
+     * @param cursor the {@link EmployeePage#getNextCursor()} of the previous page, or {@code null} for the first page
+     */
+    @Retry(name = "externalApiRetry")
+    public EmployeePage getEmployeePage(int limit, String cursor) {
+        log.debug("Fetching employee page of {} after cursor {}", limit, cursor);
+        try {
+            String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                    .queryParam("limit", limit)
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .toUriString();
+            ResponseEntity<ApiResponse<List<Employee>>> response = timed("getEmployeePage", () -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}
+            ));
 
+            List<Employee> employees = response.getBody() != null && response.getBody().getData() != null
+                    ? response.getBody().getData()
+                    : Collections.emptyList();
+            return new EmployeePage(employees, response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
         } catch (HttpClientErrorException.TooManyRequests ex) {
             log.warn("Too many requests (429), will retry. Message: {}", ex.getMessage());
             throw ex;
         } catch (Exception ex) {
-            log.error("Unexpected error fetching employees: {}", ex.getMessage());
-            throw new RuntimeException("Error while fetching employees");
+            log.error("Unexpected error fetching employee page: {}", ex.getMessage());
+            throw new ExternalApiException("Failed to fetch employee page from external API");
         }
     }
 
+    /**
+     * Walks the employee listing page by page. Each page is only requested when the iterator advances to it, with the
+     * same retry as {@link #getEmployeePage(int, String)}.
+     */
+    public Iterator<List<Employee>> getEmployeePages(int pageSize) {
+        return new Iterator<>() {
+            private String cursor;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                return !exhausted;
+            }
+
+            @Override
+            public List<Employee> next() {
+                if (exhausted) {
+                    throw new NoSuchElementException();
+                }
+                EmployeePage page = self.getEmployeePage(pageSize, cursor);
+                cursor = page.getNextCursor();
+                exhausted = cursor == null;
+                return page.getEmployees();
+            }
+        };
+    }
 
     @Retry(name = "externalApiRetry")
     public Employee getEmployeeById(String id) {
         try {
-            log.info("Fetching employee with id: {}", id);
-            ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
+            log.debug("Fetching employee with id: {}", id);
+            ResponseEntity<ApiResponse<Employee>> response = timed("getEmployeeById", () -> restTemplate.exchange(
                     baseUrl + "/" + id,
                     HttpMethod.GET,
                     null,
                     new ParameterizedTypeReference<ApiResponse<Employee>>() {
                     }
-            );
+            ));
 
             ApiResponse<Employee> apiResponse = response.getBody();
 
@@ -104,7 +274,7 @@ public class EmployeeApiClient {
                 throw new EmployeeNotFoundException("Employee not found with id: " + id);
             }
 
-            log.info("Successfully fetched employee: {}", apiResponse.getData());
+            log.debug("Successfully fetched employee with id: {}", id);
             return apiResponse.getData();
         } catch (HttpClientErrorException.TooManyRequests ex) {
             log.warn("Too many requests (429), will retry. Message: {}", ex.getMessage());
@@ -118,10 +288,26 @@ public class EmployeeApiClient {
         }
     }
 
+    /**
+     * Non-blocking variant of {@link #getEmployeeById(String)} for callers fanning out over several ids. The call runs
+     * on the upstream executor with the same retry and error mapping as the blocking method.
+     * <p>
+     * Intentionally unused for now: {@link EmployeeService} resolves ids through the {@code employee} cache, the loaded
+     * snapshot and the request coalescer, which this bypasses, so its lookups stay on the blocking path.
+     */
+    public CompletableFuture<Employee> getEmployeeByIdAsync(String id) {
+        return CompletableFuture.supplyAsync(() -> self.getEmployeeById(id), upstreamExecutor);
+    }
+
     @Retry(name = "externalApiRetry")
     public Employee createEmployee(CreateEmployeeRequest request) {
         try{
-            log.info("Creating employee: {}", request.getName());
+            log.debug("Creating employee: {}", request.getName());
+            if (createBatcher != null) {
+                Employee created = awaitBatched(createBatcher.submit(request));
+                log.debug("Successfully created employee: {}", created.getEmployeeName());
+                return created;
+            }
             Map<String, Object> requestBody = Map.of(
                     "name", request.getName(),
                     "salary", request.getSalary(),
@@ -131,15 +317,15 @@ public class EmployeeApiClient {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<ApiResponse<Employee>> response = restTemplate.exchange(
+            ResponseEntity<ApiResponse<Employee>> response = timed("createEmployee", () -> restTemplate.exchange(
                     baseUrl,
                     HttpMethod.POST,
                     httpEntity,
                     new ParameterizedTypeReference<ApiResponse<Employee>>() {}
-            );
+            ));
 
             if (response.getBody() != null && response.getBody().getData() != null) {
-                log.info("Successfully created employee: {}", response.getBody().getData().getEmployeeName());
+                log.debug("Successfully created employee: {}", response.getBody().getData().getEmployeeName());
                 return response.getBody().getData();
             }
 
@@ -154,26 +340,142 @@ public class EmployeeApiClient {
         }
     }
 
+    /**
+     * Creates several employees with one upstream request per {@value EmployeeApiLimits#MAX_BATCH_SIZE}. Each request
+     * is retried on its own, so a 429 on a later request does not create the employees of an earlier one twice.
+     *
+     * @return the created employees, in request order
+     */
+    public List<Employee> createEmployees(List<CreateEmployeeRequest> requests) {
+        List<Employee> created = new ArrayList<>(requests.size());
+        createEmployees(requests, created::addAll);
+        return created;
+    }
+
+    /**
+     * Creates several employees like {@link #createEmployees(List)}, passing the employees of each upstream request to
+     * the consumer as soon as it succeeds. If a later request fails, the consumer has seen everything that was created
+     * before it.
+     */
+    public void createEmployees(List<CreateEmployeeRequest> requests, Consumer<List<Employee>> createdBatches) {
+        for (List<CreateEmployeeRequest> batch : batches(requests)) {
+            createdBatches.accept(self.createEmployeeBatch(batch));
+        }
+    }
+
+    /**
+     * Creates up to {@value EmployeeApiLimits#MAX_BATCH_SIZE} employees with a single upstream request.
+     *
+     * @return the created employees, in request order
+     */
     @Retry(name = "externalApiRetry")
-    public String deleteEmployee(String employeeName) {
+    public List<Employee> createEmployeeBatch(List<CreateEmployeeRequest> requests) {
         try {
-            log.info("Deleting employee: {}", employeeName);
-            Map<String, Object> requestBody = Map.of("name", employeeName);
+            log.debug("Creating {} employees", requests.size());
+            List<Map<String, Object>> requestBody = requests.stream()
+                    .map(request -> Map.<String, Object>of(
+                            "name", request.getName(),
+                            "salary", request.getSalary(),
+                            "age", request.getAge(),
+                            "title", request.getTitle()))
+                    .toList();
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(
-                    baseUrl,
+            ResponseEntity<ApiResponse<List<Employee>>> response = timed("createEmployees", () -> restTemplate.exchange(
+                    baseUrl + BATCH_PATH,
+                    HttpMethod.POST,
+                    new HttpEntity<>(requestBody, headers),
+                    new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}
+            ));
+
+            if (response.getBody() != null && response.getBody().getData() != null) {
+                log.debug("Successfully created {} employees", response.getBody().getData().size());
+                return response.getBody().getData();
+            }
+
+            throw new ExternalApiException("Failed to create employees");
+
+        } catch (HttpClientErrorException.TooManyRequests ex) {
+            log.warn("Too many requests (429), will retry. Message: {}", ex.getMessage());
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Error creating employees: {}", ex.getMessage());
+            throw new ExternalApiException("Failed to create employees");
+        }
+    }
+
+    /**
+     * Deletes one employee per name with one upstream request per {@value EmployeeApiLimits#MAX_BATCH_SIZE} names,
+     * each retried on its own.
+     *
+     * @return for each name, in request order, whether an employee with that name was deleted
+     */
+    public List<Boolean> deleteEmployees(List<String> employeeNames) {
+        List<Boolean> deleted = new ArrayList<>(employeeNames.size());
+        deleteEmployees(employeeNames, deleted::addAll);
+        return deleted;
+    }
+
+    /**
+     * Deletes employees by name like {@link #deleteEmployees(List)}, passing the outcomes of each upstream request to
+     * the consumer as soon as it succeeds, in request order. If a later request fails, the consumer has seen the
+     * outcome of every name before it.
+     */
+    public void deleteEmployees(List<String> employeeNames, Consumer<List<Boolean>> deletedBatches) {
+        for (List<String> batch : batches(employeeNames)) {
+            deletedBatches.accept(self.deleteEmployeeBatch(batch));
+        }
+    }
+
+    /**
+     * Deletes one employee per name, for up to {@value EmployeeApiLimits#MAX_BATCH_SIZE} names, with a single upstream
+     * request.
+     *
+     * @return for each name, in request order, whether an employee with that name was deleted
+     */
+    @Retry(name = "externalApiRetry")
+    public List<Boolean> deleteEmployeeBatch(List<String> employeeNames) {
+        try {
+            log.debug("Deleting {} employees", employeeNames.size());
+            List<Map<String, Object>> requestBody = employeeNames.stream()
+                    .map(name -> Map.<String, Object>of("name", name))
+                    .toList();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            ResponseEntity<ApiResponse<List<Boolean>>> response = timed("deleteEmployees", () -> restTemplate.exchange(
+                    baseUrl + BATCH_PATH,
                     HttpMethod.DELETE,
-                    httpEntity,
-                    new ParameterizedTypeReference<ApiResponse<Boolean>>() {}
-            );
+                    new HttpEntity<>(requestBody, headers),
+                    new ParameterizedTypeReference<ApiResponse<List<Boolean>>>() {}
+            ));
 
-            if(response.getBody().getData().equals(false)){
-                log.info("Employee with name {} doesn't exist", employeeName);
+            if (response.getBody() == null || response.getBody().getData() == null
+                    || response.getBody().getData().size() != employeeNames.size()) {
+                throw new ExternalApiException("Unexpected response deleting employees");
+            }
+            return response.getBody().getData();
+        } catch (HttpClientErrorException.TooManyRequests ex) {
+            log.warn("Too many requests (429), will retry. Message: {}", ex.getMessage());
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Error deleting employees: {}", ex.getMessage());
+            throw new ExternalApiException("Failed to delete employees");
+        }
+    }
+
+    @Retry(name = "externalApiRetry")
+    public String deleteEmployee(String employeeName) {
+        try {
+            log.debug("Deleting employee: {}", employeeName);
+            Boolean deleted = deleteBatcher != null
+                    ? awaitBatched(deleteBatcher.submit(employeeName))
+                    : sendDelete(employeeName);
+
+            if(deleted.equals(false)){
+                log.debug("Employee with name {} doesn't exist", employeeName);
                 throw new EmployeeNotFoundException("Employee not found for deletion");
             }
-            log.info("Successfully deleted employee: {}", employeeName);
+            log.debug("Successfully deleted employee: {}", employeeName);
             return employeeName;
         } catch (HttpClientErrorException.TooManyRequests ex) {
             log.warn("Too many requests (429), will retry. Message: {}", ex.getMessage());
@@ -186,4 +488,78 @@ public class EmployeeApiClient {
             throw new RuntimeException("Failed to fetch employee", ex);
         }
     }
+
+    private Boolean sendDelete(String employeeName) {
+        Map<String, Object> requestBody = Map.of("name", employeeName);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(requestBody, headers);
+        ResponseEntity<ApiResponse<Boolean>> response = timed("deleteEmployee", () -> restTemplate.exchange(
+                baseUrl,
+                HttpMethod.DELETE,
+                httpEntity,
+                new ParameterizedTypeReference<ApiResponse<Boolean>>() {}
+        ));
+        return response.getBody().getData();
+    }
+
+    /**
+     * Times one upstream request as {@value #CALL_TIMER}, tagged with the client operation, its outcome ({@code ok},
+     * {@code not_found}, {@code throttled} for a 429, which the retry answers with another attempt, or {@code error})
+     * and the retry attempt it was, starting at 1. Each attempt is timed on its own. The time includes waiting for the
+     * rate limiter, which {@code employee.upstream.rate-limit.wait} records by itself.
+     */
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "ok";
+            return result;
+        } catch (HttpClientErrorException.TooManyRequests ex) {
+            outcome = "throttled";
+            throw ex;
+        } catch (HttpClientErrorException.NotFound ex) {
+            outcome = "not_found";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(CALL_TIMER)
+                    .description("Requests to the mock employee server")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .tag("attempt", Integer.toString(retryAttempts.current()))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += MAX_BATCH_SIZE) {
+            batches.add(items.subList(from, Math.min(items.size(), from + MAX_BATCH_SIZE)));
+        }
+        return batches;
+    }
+
+    private static boolean isNotThrottled(RuntimeException ex) {
+        return !(ex instanceof HttpClientErrorException.TooManyRequests);
+    }
+
+    /**
+     * Waits for a queued write and rethrows the batch failure. A 429 has already been retried by the batch call, so it
+     * is rethrown as an {@link ExternalApiException} rather than retried once more by the caller.
+     */
+    private static <T> T awaitBatched(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof HttpClientErrorException.TooManyRequests) {
+                throw new ExternalApiException("External API is still rate limiting after retries");
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
 }
@@ -1,98 +1,223 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.ColumnarEmployees;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotHolder;
+import com.reliaquest.api.cache.MissingEmployeeCache;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.index.IdIndex;
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.SalaryIndex;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class EmployeeService implements IEmployeeService {
 
-    @Autowired
-    private EmployeeApiClient employeeApiClient;
+    private final EmployeeApiClient employeeApiClient;
+
+    private final UpstreamRequestCoalescer requestCoalescer;
+
+    private final EmployeeSnapshotHolder snapshotHolder;
+
+    private final MissingEmployeeCache missingEmployeeCache;
+
+    private final CacheManager cacheManager;
+
+    private final IdIndex idIndex;
+
+    private final SalaryIndex salaryIndex;
+
+    private final NameIndex nameIndex;
+
+    @Value("${employee.search.max-results:0}")
+    private int maxSearchResults;
 
     @Autowired
     @Lazy
     EmployeeService self;
 
 
-    @Cacheable("employees")
     public List<Employee> getAllEmployees() {
-        log.info("Service: Getting all employees");
-        return employeeApiClient.getAllEmployees();
+        log.debug("Service: Getting all employees");
+        return snapshotHolder.getEmployees();
     }
 
     @Override
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        log.info("Service: Searching employees by name fragment: {}", searchString);
+        log.debug("Service: Searching employees by name fragment: {}", searchString);
 
         if(searchString == null || searchString.trim().isEmpty()){
             throw new IllegalArgumentException("Search term cannot be null or empty");
         }
 
-        List<Employee> allEmployees = self.getAllEmployees();
-
-        return allEmployees.stream().
-                filter(employee -> {
-                    return employee.getEmployeeName() != null && employee.getEmployeeName().toLowerCase().contains(searchString.toLowerCase());
-                })
-            .collect(Collectors.toList());
+        ColumnarEmployees columns = loadedColumns();
+        return columns != null
+                ? columns.searchNames(searchString, maxSearchResults)
+                : nameIndex.search(searchString, maxSearchResults);
     }
 
     @Cacheable(value = "employee", key = "#id")
     @Override
     public Employee getEmployeeById(String id) {
-        log.info("Service: Getting employee by id: {}", id);
-        return employeeApiClient.getEmployeeById(id);
+        log.debug("Service: Getting employee by id: {}", id);
+        return loadEmployeeById(id);
+    }
+
+    /**
+     * Looks an employee up without the {@code employee} cache: in the loaded snapshot, then in the ids known to be
+     * missing, then with one coalesced upstream request. The cache's loader goes through here as well, so a refresh or a
+     * loader-backed miss records an unknown id like any other lookup.
+     */
+    public Employee loadEmployeeById(String id) {
+        // only consult a snapshot that is already loaded; loading the full list for one id would cost more than it saves
+        EmployeeSnapshot snapshot = snapshotHolder.peekSnapshot();
+        Employee indexed = snapshot != null && snapshot.employees() instanceof ColumnarEmployees columns
+                ? columns.findById(id)
+                : idIndex.get(id);
+        if (indexed != null) {
+            return indexed;
+        }
+        if (missingEmployeeCache.isMissing(id)) {
+            throw new EmployeeNotFoundException("Employee not found with id: " + id);
+        }
+        try {
+            return requestCoalescer.getEmployeeById(id, () -> employeeApiClient.getEmployeeById(id));
+        } catch (EmployeeNotFoundException ex) {
+            missingEmployeeCache.recordMissing(id);
+            throw ex;
+        }
     }
 
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        log.info("Service: Getting highest salary");
-        List<Employee> employees = self.getAllEmployees();
-        return employees.stream().mapToInt(Employee::getEmployeeSalary)
-                .max()
-                .orElse(0);
+        log.debug("Service: Getting highest salary");
+        ColumnarEmployees columns = loadedColumns();
+        return columns != null ? columns.highestSalary() : salaryIndex.highestSalary();
     }
 
     @Override
     public List<String> getTopTenHighestSalariedEmployee() {
-        log.info("Service: Getting top 10 highest earning employees");
-        List<Employee> employees = self.getAllEmployees();
-        return employees.stream()
-                .sorted(Comparator.comparing(Employee::getEmployeeSalary).reversed())
-                .limit(10)
-                .map(Employee::getEmployeeName)
-                .collect(Collectors.toList());
+        log.debug("Service: Getting top 10 highest earning employees");
+        ColumnarEmployees columns = loadedColumns();
+        return columns != null ? columns.topEarnerNames(10) : salaryIndex.topEarnerNames(10);
+    }
+
+    /**
+     * Aggregates precomputed with the current snapshot, so no employee is visited.
+     */
+    @Override
+    public EmployeeStats getEmployeeStats() {
+        log.debug("Service: Getting employee stats");
+        return snapshotHolder.getSnapshot().stats();
     }
 
-    @CacheEvict(value = "employees", allEntries = true)
+    @CachePut(value = "employee", key = "#result.id")
     @Override
     public Employee createEmployee(CreateEmployeeRequest request) {
-        log.info("Service: Creating employee: {}", request.getName());
-        return employeeApiClient.createEmployee(request);
+        log.debug("Service: Creating employee: {}", request.getName());
+        Employee createdEmployee = employeeApiClient.createEmployee(request);
+        missingEmployeeCache.invalidateAll();
+        snapshotHolder.applyCreated(createdEmployee);
+        return createdEmployee;
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "employee", key = "#id"),
-            @CacheEvict(value = "employees", allEntries = true)
-    })
+    @CacheEvict(value = "employee", key = "#id")
     @Override
     public String deleteEmployeeById(String id) {
-        log.info("Service: Deleting employee by id: {}", id);
+        log.debug("Service: Deleting employee by id: {}", id);
         Employee employee = self.getEmployeeById(id);
-        return employeeApiClient.deleteEmployee(employee.getEmployeeName());
+        String deletedEmployeeName = employeeApiClient.deleteEmployee(employee.getEmployeeName());
+        snapshotHolder.applyDeleted(id);
+        missingEmployeeCache.recordMissing(id);
+        return deletedEmployeeName;
+    }
+
+    /**
+     * Creates all employees with one upstream request per thousand and applies them to the snapshot as a single new
+     * version. If one of the requests fails, the employees the earlier ones created are still applied before the
+     * failure is rethrown.
+     */
+    @Override
+    public List<Employee> createEmployees(List<CreateEmployeeRequest> requests) {
+        log.debug("Service: Creating {} employees", requests.size());
+        List<Employee> createdEmployees = new ArrayList<>(requests.size());
+        try {
+            employeeApiClient.createEmployees(requests, createdEmployees::addAll);
+        } finally {
+            // upstream requests that succeeded before a failing one have still created their employees
+            if (!createdEmployees.isEmpty()) {
+                missingEmployeeCache.invalidateAll();
+                snapshotHolder.applyCreated(createdEmployees);
+            }
+        }
+        return createdEmployees;
+    }
+
+    /**
+     * Deletes all employees with one upstream request per thousand and applies the removals to the snapshot as a single
+     * new version.
+     * Every id is resolved before anything is deleted, so an unknown id fails the whole batch; a repeated id is only
+     * resolved and deleted once. Only the deleted employees are evicted from the {@code employee} cache. If one of the
+     * upstream requests fails, the deletions of the earlier ones are still applied before the failure is rethrown.
+     *
+     * @return the names of the employees the upstream reported as deleted
+     */
+    @Override
+    public List<String> deleteEmployeesByIds(List<String> ids) {
+        log.debug("Service: Deleting {} employees by id", ids.size());
+        List<String> distinctIds = ids.stream().distinct().toList();
+        List<String> names = distinctIds.stream()
+                .map(id -> self.getEmployeeById(id).getEmployeeName())
+                .toList();
+        List<Boolean> deleted = new ArrayList<>(distinctIds.size());
+        List<String> deletedNames = new ArrayList<>(distinctIds.size());
+        try {
+            employeeApiClient.deleteEmployees(names, deleted::addAll);
+        } finally {
+            // upstream requests that succeeded before a failing one have still deleted their employees
+            List<String> deletedIds = new ArrayList<>(deleted.size());
+            for (int i = 0; i < deleted.size(); i++) {
+                if (Boolean.TRUE.equals(deleted.get(i))) {
+                    deletedIds.add(distinctIds.get(i));
+                    deletedNames.add(names.get(i));
+                }
+            }
+            if (!deletedIds.isEmpty()) {
+                Cache employeeCache = cacheManager.getCache("employee");
+                if (employeeCache != null) {
+                    deletedIds.forEach(employeeCache::evict);
+                }
+                snapshotHolder.applyDeleted(deletedIds);
+                deletedIds.forEach(missingEmployeeCache::recordMissing);
+            }
+        }
+        return deletedNames;
+    }
+
+    /**
+     * Loads the first snapshot if needed, since the indexes are only populated together with it. Returns the snapshot's
+     * columns when it is held in columnar form, which then answers the query instead of the indexes.
+     */
+    private ColumnarEmployees loadedColumns() {
+        EmployeeSnapshot snapshot = snapshotHolder.getSnapshot();
+        return snapshot != null && snapshot.employees() instanceof ColumnarEmployees columns ? columns : null;
     }
 }
@@ -2,6 +2,7 @@ package com.reliaquest.api.service;
 
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
 
 import java.util.List;
 
@@ -19,4 +20,10 @@ public interface IEmployeeService {
     Employee createEmployee(CreateEmployeeRequest employeeInput);
 
     String deleteEmployeeById(String id);
+
+    List<Employee> createEmployees(List<CreateEmployeeRequest> employeeInputs);
+
+    List<String> deleteEmployeesByIds(List<String> ids);
+
+    EmployeeStats getEmployeeStats();
 }
@@ -0,0 +1,52 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight upstream call between concurrent callers asking for the same data, so a cold or just-evicted
+ * cache does not stampede the rate-limited mock server.
+ */
+@Component
+public class UpstreamRequestCoalescer implements MeterBinder {
+
+    private static final String ALL_EMPLOYEES = "all";
+
+    private final SingleFlight<String, List<Employee>> allEmployees = new SingleFlight<>();
+
+    private final SingleFlight<String, Employee> employeeById = new SingleFlight<>();
+
+    public List<Employee> getAllEmployees(Supplier<List<Employee>> loader) {
+        return allEmployees.execute(ALL_EMPLOYEES, loader);
+    }
+
+    public Employee getEmployeeById(String id, Supplier<Employee> loader) {
+        return employeeById.execute(id, loader);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindTo(registry, "getAllEmployees", allEmployees);
+        bindTo(registry, "getEmployeeById", employeeById);
+    }
+
+    private void bindTo(MeterRegistry registry, String operation, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("employee.upstream.requests", singleFlight, SingleFlight::issuedCount)
+                .description("Upstream calls issued to the mock employee server")
+                .tag("operation", operation)
+                .tag("result", "issued")
+                .register(registry);
+        FunctionCounter.builder("employee.upstream.requests", singleFlight, SingleFlight::coalescedCount)
+                .description("Callers that shared an upstream call already in flight")
+                .tag("operation", operation)
+                .tag("result", "coalesced")
+                .register(registry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.reliaquest.api.util;
+
+import com.reliaquest.api.exception.ExternalApiException;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side pacing for an upstream that allows a burst of requests and then rejects with 429 until a cool-down has
+ * passed since the last accepted request (the mock server's {@code RandomRequestLimitInterceptor}).
+ * <p>
+ * Both numbers are learned from observed 429s. Until the burst size is known requests flow freely; the first cycle
+ * after a throttled cool-down counts how many requests the freshly reset upstream accepts. From then on the limiter
+ * hands out exactly that many permits, holds further callers in a fair queue until the cool-down has elapsed since the
+ * last grant, and starts the next cycle - so the upstream resets instead of answering 429. A 429 right after a
+ * cool-down grows the cool-down multiplicatively; after a run of clean cycles the cool-down shrinks a little and the
+ * burst is probed one higher, so a changed upstream is picked up again.
+ */
+public class AdaptiveRateLimiter {
+
+    private static final int UNKNOWN_BUDGET = 0;
+
+    private enum CycleStart {
+        INITIAL,
+        AFTER_THROTTLE,
+        AFTER_PAUSE
+    }
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    private final Condition permitsAvailable = lock.newCondition();
+
+    private final long minCooldownNanos;
+
+    private final long maxCooldownNanos;
+
+    private final long maxWaitNanos;
+
+    private final int probeAfterCycles;
+
+    private long cooldownNanos;
+
+    private int budget = UNKNOWN_BUDGET;
+
+    private long epoch;
+
+    private CycleStart cycleStart = CycleStart.INITIAL;
+
+    private int granted;
+
+    private int succeeded;
+
+    private int cleanCycles;
+
+    private long lastGrantedAt;
+
+    private long blockedUntil;
+
+    public AdaptiveRateLimiter(
+            Duration initialCooldown, Duration minCooldown, Duration maxCooldown, Duration maxWait, int probeAfterCycles) {
+        this.cooldownNanos = initialCooldown.toNanos();
+        this.minCooldownNanos = minCooldown.toNanos();
+        this.maxCooldownNanos = maxCooldown.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.probeAfterCycles = probeAfterCycles;
+        this.blockedUntil = System.nanoTime();
+    }
+
+    /**
+     * Blocks until the upstream is expected to accept one more request.
+     *
+     * @return a permit to hand back to {@link #onAccepted(long)} or {@link #onThrottled(long)}
+     * @throws ExternalApiException if no permit became available within the configured maximum wait
+     */
+    public long acquire() {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long waitNanos = tryGrant(now);
+                if (waitNanos <= 0) {
+                    return epoch;
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    throw new ExternalApiException("Timed out waiting for upstream request budget");
+                }
+                permitsAvailable.awaitNanos(Math.min(waitNanos, remaining));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException("Interrupted while waiting for upstream request budget");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that the upstream accepted (i.e. counted) a request, whatever its response status.
+     */
+    public void onAccepted(long permit) {
+        lock.lock();
+        try {
+            if (permit == epoch) {
+                succeeded++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a 429 and starts a cool-down for every queued caller.
+     */
+    public void onThrottled(long permit) {
+        lock.lock();
+        try {
+            if (permit != epoch) {
+                return;
+            }
+            if (succeeded == 0 && cycleStart != CycleStart.INITIAL) {
+                cooldownNanos = Math.min(maxCooldownNanos, cooldownNanos + cooldownNanos / 2);
+            } else if (cycleStart == CycleStart.AFTER_THROTTLE
+                    || (cycleStart == CycleStart.AFTER_PAUSE && succeeded >= budget - 1)) {
+                budget = succeeded;
+            } else {
+                budget = UNKNOWN_BUDGET;
+            }
+            epoch++;
+            cleanCycles = 0;
+            blockedUntil = System.nanoTime() + cooldownNanos;
+            startCycle(CycleStart.AFTER_THROTTLE);
+            permitsAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int budget() {
+        return budget;
+    }
+
+    public Duration cooldown() {
+        return Duration.ofNanos(cooldownNanos);
+    }
+
+    private long tryGrant(long now) {
+        if (now - blockedUntil < 0) {
+            return blockedUntil - now;
+        }
+        if (budget != UNKNOWN_BUDGET && granted >= budget) {
+            long opensAt = lastGrantedAt + cooldownNanos;
+            if (now - opensAt < 0) {
+                return opensAt - now;
+            }
+            completeCycle();
+        }
+        granted++;
+        lastGrantedAt = now;
+        return 0;
+    }
+
+    private void completeCycle() {
+        if (succeeded >= budget && ++cleanCycles >= probeAfterCycles) {
+            cleanCycles = 0;
+            budget++;
+            cooldownNanos = Math.max(minCooldownNanos, cooldownNanos - cooldownNanos / 10);
+        }
+        epoch++;
+        startCycle(CycleStart.AFTER_PAUSE);
+    }
+
+    private void startCycle(CycleStart start) {
+        cycleStart = start;
+        granted = 0;
+        succeeded = 0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.reliaquest.api.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Collects items submitted by concurrent callers into one batch call and completes each caller's future with its own
+ * result. A batch is sent once the window opened by its first item has passed, or as soon as it holds
+ * {@code maxBatchSize} items, whichever comes first; batch calls run on the given executor.
+ * <p>
+ * The batch call must return one result per item, in submission order. If it throws, or returns a different number of
+ * results, every future of that batch completes exceptionally with the same exception, unless an item call is given
+ * and the failure is one it accepts: then each item of a batch of several is sent alone, so an item that is rejected
+ * on its own fails only its own caller.
+ */
+public class MicroBatcher<I, O> {
+
+    private final Function<List<I>, List<O>> batchCall;
+
+    private final Function<I, O> itemCall;
+
+    private final Predicate<RuntimeException> retryItemsAlone;
+
+    private final int maxBatchSize;
+
+    private final Executor executor;
+
+    private final Executor windowExecutor;
+
+    private final Object lock = new Object();
+
+    private List<Pending<I, O>> pending = new ArrayList<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong batches = new AtomicLong();
+
+    public MicroBatcher(Function<List<I>, List<O>> batchCall, int maxBatchSize, Duration window, Executor executor) {
+        this(batchCall, null, ex -> false, maxBatchSize, window, executor);
+    }
+
+    /**
+     * @param itemCall sends a single item, after a batch call failed with an exception {@code retryItemsAlone} accepts
+     */
+    public MicroBatcher(
+            Function<List<I>, List<O>> batchCall,
+            Function<I, O> itemCall,
+            Predicate<RuntimeException> retryItemsAlone,
+            int maxBatchSize,
+            Duration window,
+            Executor executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.batchCall = batchCall;
+        this.itemCall = itemCall;
+        this.retryItemsAlone = retryItemsAlone;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+        this.windowExecutor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, executor);
+    }
+
+    public CompletableFuture<O> submit(I item) {
+        CompletableFuture<O> result = new CompletableFuture<>();
+        submitted.incrementAndGet();
+        List<Pending<I, O>> full = null;
+        synchronized (lock) {
+            pending.add(new Pending<>(item, result));
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            } else if (pending.size() == 1) {
+                List<Pending<I, O>> opened = pending;
+                windowExecutor.execute(() -> sendIfStillPending(opened));
+            }
+        }
+        if (full != null) {
+            List<Pending<I, O>> batch = full;
+            executor.execute(() -> send(batch));
+        }
+        return result;
+    }
+
+    public long submittedCount() {
+        return submitted.get();
+    }
+
+    public long batchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Runs when a window closes; the batch it opened may already have been sent because it filled up.
+     */
+    private void sendIfStillPending(List<Pending<I, O>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+            pending = new ArrayList<>();
+        }
+        send(batch);
+    }
+
+    private void send(List<Pending<I, O>> batch) {
+        batches.incrementAndGet();
+        try {
+            List<O> results = batchCall.apply(batch.stream().map(Pending::item).toList());
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Batch of " + batch.size() + " items returned "
+                        + (results == null ? "no" : results.size()) + " results");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException ex) {
+            if (itemCall != null && batch.size() > 1 && retryItemsAlone.test(ex)) {
+                batch.forEach(this::sendAlone);
+            } else {
+                batch.forEach(waiting -> waiting.result().completeExceptionally(ex));
+            }
+        } catch (Error ex) {
+            batch.forEach(waiting -> waiting.result().completeExceptionally(ex));
+        }
+    }
+
+    private void sendAlone(Pending<I, O> waiting) {
+        try {
+            waiting.result().complete(itemCall.apply(waiting.item()));
+        } catch (RuntimeException | Error ex) {
+            waiting.result().completeExceptionally(ex);
+        }
+    }
+
+    private record Pending<I, O>(I item, CompletableFuture<O> result) {}
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.api.util;
+
+import java.util.Arrays;
+
+/**
+ * Quantile sketch over non-negative values with a bounded relative error, using logarithmically sized buckets.
+ * <p>
+ * Every reported quantile is within {@code relativeAccuracy} of a value at that rank. Memory grows with the logarithm
+ * of the value range rather than with the number of values: salaries between 30k and 500k take about 140 buckets at 1%.
+ * Since a bucket is just a count, values can be removed again, and two sketches with the same accuracy merge by adding
+ * their counts without losing any accuracy. Not thread-safe.
+ */
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+
+    private final double gamma;
+
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+
+    private int offset;
+
+    private long zeroCount;
+
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1: " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        update(value, 1);
+    }
+
+    /**
+     * Removes one occurrence of a value that was added before.
+     */
+    public void remove(double value) {
+        update(value, -1);
+    }
+
+    /**
+     * Adds every value of the other sketch to this one.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with relative accuracies "
+                    + relativeAccuracy + " and " + other.relativeAccuracy);
+        }
+        zeroCount += other.zeroCount;
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                adjust(other.offset + i, other.counts[i]);
+            }
+        }
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the estimated value at the given quantile, between 0 and 1, or {@code NaN} if the sketch is empty.
+     */
+    public double quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        int last = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            last = i;
+            seen += counts[i];
+            if (rank < seen) {
+                break;
+            }
+        }
+        return 2 * Math.pow(gamma, offset + last) / (gamma + 1);
+    }
+
+    private void update(double value, long delta) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Only finite non-negative values can be sketched: " + value);
+        }
+        if (value == 0) {
+            if (zeroCount + delta < 0) {
+                throw new IllegalStateException("Value 0 is not in the sketch");
+            }
+            zeroCount += delta;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            if (delta < 0 && (index < offset || index >= offset + counts.length || counts[index - offset] == 0)) {
+                throw new IllegalStateException("Value " + value + " is not in the sketch");
+            }
+            adjust(index, delta);
+        }
+        count += delta;
+    }
+
+    private void adjust(int index, long delta) {
+        if (counts.length == 0) {
+            offset = index;
+            counts = new long[1];
+        } else if (index < offset) {
+            long[] grown = new long[counts.length + offset - index];
+            System.arraycopy(counts, 0, grown, offset - index, counts.length);
+            counts = grown;
+            offset = index;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, index - offset + 1);
+        }
+        counts[index - offset] += delta;
+    }
+}
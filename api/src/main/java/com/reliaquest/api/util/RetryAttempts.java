@@ -0,0 +1,26 @@
+package com.reliaquest.api.util;
+
+import io.github.resilience4j.retry.Retry;
+
+/**
+ * Tracks which attempt of a resilience4j {@link Retry} the current thread is making, so that a call can be tagged
+ * with it. Fed by the retry's own events: a retry announces the next attempt on the calling thread before sleeping and
+ * calling again, and success or a final failure ends the call. Threads outside a bound retry are on attempt 1.
+ */
+public class RetryAttempts {
+
+    private final ThreadLocal<Integer> attempt = new ThreadLocal<>();
+
+    public void bindTo(Retry retry) {
+        retry.getEventPublisher()
+                .onRetry(event -> attempt.set(event.getNumberOfRetryAttempts() + 1))
+                .onSuccess(event -> attempt.remove())
+                .onError(event -> attempt.remove())
+                .onIgnoredError(event -> attempt.remove());
+    }
+
+    public int current() {
+        Integer current = attempt.get();
+        return current != null ? current : 1;
+    }
+}
@@ -0,0 +1,124 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarEmployeesTest {
+
+    private static final String JOHN_ID = "0f1c2e5a-7b3d-4c8e-9f10-112233445566";
+
+    private List<Employee> employees;
+
+    private ColumnarEmployees columns;
+
+    @BeforeEach
+    void setUp() {
+        employees = new ArrayList<>();
+        employees.add(new Employee(JOHN_ID, "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        employees.add(new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"));
+        employees.add(new Employee("3", "Peter Jones", 90000, 45, "Senior Developer", "peter.jones@example.com"));
+        employees.add(new Employee("4", "Alex White", 75000, 25, "Software Engineer", "alex.white@example.com"));
+        employees.add(new Employee("5", "Zo\u00eb M\u00fcller", null, null, null, null));
+        columns = ColumnarEmployees.copyOf(employees);
+    }
+
+    @Test
+    void testMaterializesEmployeesUnchanged() {
+        assertEquals(employees, new ArrayList<>(columns));
+    }
+
+    @Test
+    void testKeepsAgesOutsideTheByteColumn() {
+        List<Employee> unusual = List.of(
+                new Employee("7", "Old Timer", 40000, 300, "Archivist", null),
+                new Employee("8", "Negative Age", 40000, -1, "Archivist", null));
+
+        assertEquals(unusual, new ArrayList<>(ColumnarEmployees.copyOf(unusual)));
+    }
+
+    @Test
+    void testFindById() {
+        assertEquals("John Doe", columns.findById(JOHN_ID).getEmployeeName());
+        assertEquals("Alex White", columns.findById("4").getEmployeeName());
+        assertNull(columns.findById("0f1c2e5a-7b3d-4c8e-9f10-000000000000"));
+        assertNull(columns.findById("42"));
+    }
+
+    @Test
+    void testSearchNames_ignoresCaseIncludingNonAscii() {
+        assertEquals(List.of("John Doe", "Peter Jones"),
+                columns.searchNames("JO", 0).stream().map(Employee::getEmployeeName).toList());
+        assertEquals("Zo\u00eb M\u00fcller", columns.searchNames("M\u00dcLL", 0).get(0).getEmployeeName());
+        assertEquals(1, columns.searchNames("o", 1).size());
+        assertTrue(columns.searchNames("xyz", 0).isEmpty());
+    }
+
+    @Test
+    void testSalaryAggregates_keepDirectoryOrderForTies() {
+        assertEquals(90000, columns.highestSalary());
+        assertEquals(List.of("Peter Jones", "Jane Smith", "Alex White", "John Doe"), columns.topEarnerNames(10));
+        assertEquals(List.of("Peter Jones", "Jane Smith"), columns.topEarnerNames(2));
+        assertEquals(0, ColumnarEmployees.builder().build().highestSalary());
+    }
+
+    @Test
+    void testWithUpsertedAndWithout() {
+        Employee promoted = new Employee(JOHN_ID, "John Doe", 150000, 33, "Director", "john.doe@example.com");
+
+        ColumnarEmployees updated = columns.withUpserted(promoted).without("3");
+
+        assertEquals(4, updated.size());
+        assertEquals(promoted, updated.get(3));
+        assertEquals(promoted, updated.findById(JOHN_ID));
+        assertNull(updated.findById("3"));
+        assertSame(updated, updated.without("3"));
+        assertEquals(5, columns.size());
+    }
+
+    @Test
+    void testQueriesSeeWritesLayeredOverTheColumns() {
+        Employee hired = new Employee("6", "Joanna Black", 90000, 30, "Architect", "joanna.black@example.com");
+
+        ColumnarEmployees updated = columns.without("3").withUpserted(hired);
+
+        assertEquals(List.of("John Doe", "Jane Smith", "Alex White", "Zo\u00eb M\u00fcller", "Joanna Black"),
+                updated.stream().map(Employee::getEmployeeName).toList());
+        assertEquals(List.of("John Doe", "Joanna Black"),
+                updated.searchNames("jo", 0).stream().map(Employee::getEmployeeName).toList());
+        assertEquals(List.of("Joanna Black"),
+                updated.searchNames("ANNA", 0).stream().map(Employee::getEmployeeName).toList());
+        assertTrue(updated.searchNames("peter", 0).isEmpty());
+        assertEquals(90000, updated.highestSalary());
+        assertEquals(List.of("Joanna Black", "Jane Smith", "Alex White"), updated.topEarnerNames(3));
+        assertEquals(hired, updated.findById("6"));
+        assertNull(updated.findById("3"));
+    }
+
+    @Test
+    void testManyWritesFoldIntoFreshColumns() {
+        ColumnarEmployees updated = columns;
+        List<Employee> expected = new ArrayList<>(employees);
+        for (int i = 0; i < 3000; i++) {
+            Employee hired =
+                    new Employee("new-" + i, "Hire " + i, 40000 + i, 30, "Analyst", "hire" + i + "@example.com");
+            updated = updated.withUpserted(hired);
+            expected.add(hired);
+            if (i % 3 == 0) {
+                updated = updated.without(expected.get(0).getId());
+                expected.remove(0);
+            }
+        }
+
+        assertEquals(expected, new ArrayList<>(updated));
+        assertEquals(42999, updated.highestSalary());
+        assertEquals(List.of("Hire 2999", "Hire 2998"), updated.topEarnerNames(2));
+        assertEquals(List.of("Hire 1234"),
+                updated.searchNames("hire 1234", 0).stream().map(Employee::getEmployeeName).toList());
+        assertEquals(expected.get(500), updated.findById(expected.get(500).getId()));
+    }
+}
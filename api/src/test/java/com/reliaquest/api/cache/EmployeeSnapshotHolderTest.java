@@ -0,0 +1,288 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.exception.ExternalApiException;
+import com.reliaquest.api.index.EmployeeIndexes;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeApiClient;
+import com.reliaquest.api.service.UpstreamRequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+import java.util.function.Consumer;
+import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotHolderTest {
+
+    @Mock
+    private EmployeeApiClient employeeApiClient;
+
+    private SalaryIndex salaryIndex;
+
+    private EmployeeSnapshotHolder snapshotHolder;
+
+    @BeforeEach
+    void setUp() {
+        salaryIndex = new SalaryIndex();
+        snapshotHolder = new EmployeeSnapshotHolder(
+                employeeApiClient,
+                new UpstreamRequestCoalescer(),
+                new EmployeeIndexes(List.of(salaryIndex)),
+                Runnable::run,
+                3,
+                0,
+                false);
+    }
+
+    private List<Employee> directory(int highestSalary) {
+        return List.of(
+                new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"),
+                new Employee("2", "Jane Smith", highestSalary, 28, "Product Manager", "jane.smith@example.com"));
+    }
+
+    private static Answer<Integer> streams(List<Employee> directory) {
+        return invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            directory.forEach(consumer);
+            return directory.size();
+        };
+    }
+
+    @Test
+    void testGetEmployees_loadsOnceAndServesSnapshot() {
+        when(employeeApiClient.streamAllEmployees(any())).thenAnswer(streams(directory(75000)));
+
+        List<Employee> first = snapshotHolder.getEmployees();
+        List<Employee> second = snapshotHolder.getEmployees();
+
+        assertEquals(2, first.size());
+        assertSame(first, second);
+        assertEquals(75000, salaryIndex.highestSalary());
+        verify(employeeApiClient, times(1)).streamAllEmployees(any());
+    }
+
+    @Test
+    void testGetEmployees_assemblesDirectoryFromPagesWhenPagingIsEnabled() {
+        snapshotHolder = new EmployeeSnapshotHolder(
+                employeeApiClient,
+                new UpstreamRequestCoalescer(),
+                new EmployeeIndexes(List.of(salaryIndex)),
+                Runnable::run,
+                3,
+                1,
+                false);
+        List<Employee> directory = directory(75000);
+        when(employeeApiClient.getEmployeePages(1))
+                .thenReturn(List.of(directory.subList(0, 1), directory.subList(1, 2)).iterator());
+
+        List<Employee> employees = snapshotHolder.getEmployees();
+
+        assertEquals(directory, employees);
+        assertEquals(75000, salaryIndex.highestSalary());
+        verify(employeeApiClient, never()).streamAllEmployees(any());
+    }
+
+    @Test
+    void testColumnarSnapshot_writesThroughWithoutObjectIndexes() {
+        snapshotHolder = new EmployeeSnapshotHolder(
+                employeeApiClient,
+                new UpstreamRequestCoalescer(),
+                new EmployeeIndexes(List.of(salaryIndex)),
+                Runnable::run,
+                3,
+                0,
+                true);
+        when(employeeApiClient.streamAllEmployees(any())).thenAnswer(streams(directory(75000)));
+
+        assertInstanceOf(ColumnarEmployees.class, snapshotHolder.getEmployees());
+        assertEquals(0, salaryIndex.highestSalary());
+
+        snapshotHolder.applyCreated(new Employee("3", "Emily Chen", 150000, 50, "Director", "emily.chen@example.com"));
+        snapshotHolder.applyDeleted("1");
+
+        ColumnarEmployees columns = (ColumnarEmployees) snapshotHolder.getEmployees();
+        assertEquals(List.of("Emily Chen", "Jane Smith"), columns.topEarnerNames(10));
+        assertEquals(directory(75000).get(1), columns.get(0));
+    }
+
+    @Test
+    void testRequestRefresh_swapsInNewSnapshotAndIndexes() {
+        when(employeeApiClient.streamAllEmployees(any()))
+                .thenAnswer(streams(directory(75000)))
+                .thenAnswer(streams(directory(95000)));
+        EmployeeSnapshot first = snapshotHolder.getSnapshot();
+
+        snapshotHolder.requestRefresh();
+
+        EmployeeSnapshot second = snapshotHolder.getSnapshot();
+        assertTrue(second.version() > first.version());
+        assertEquals(95000, second.employees().get(1).getEmployeeSalary());
+        assertEquals(95000, salaryIndex.highestSalary());
+    }
+
+    @Test
+    void testRequestRefresh_replaysWritesThatLandWhileLoading() {
+        when(employeeApiClient.streamAllEmployees(any()))
+                .thenAnswer(streams(directory(75000)))
+                .thenAnswer(invocation -> {
+                    // more writes than reconcile-after-writes, confirmed upstream while the refresh is reading
+                    for (int i = 0; i < 4; i++) {
+                        snapshotHolder.applyCreated(
+                                new Employee("new-" + i, "New Hire", 150000 + i, 30, "Intern", "new@example.com"));
+                    }
+                    snapshotHolder.applyDeleted("1");
+                    return streams(directory(95000)).answer(invocation);
+                });
+        snapshotHolder.getSnapshot();
+
+        snapshotHolder.requestRefresh();
+
+        EmployeeSnapshot refreshed = snapshotHolder.getSnapshot();
+        assertEquals(
+                List.of("2", "new-0", "new-1", "new-2", "new-3"),
+                refreshed.employees().stream().map(Employee::getId).toList());
+        assertEquals(95000, refreshed.employees().get(0).getEmployeeSalary());
+        assertEquals(150003, salaryIndex.highestSalary());
+        assertEquals(5, refreshed.stats().count());
+        verify(employeeApiClient, times(2)).streamAllEmployees(any());
+    }
+
+    @Test
+    void testRequestRefresh_keepsPreviousSnapshotWhenUpstreamFails() {
+        when(employeeApiClient.streamAllEmployees(any()))
+                .thenAnswer(streams(directory(75000)))
+                .thenThrow(new ExternalApiException("Service temporarily unavailable"));
+        EmployeeSnapshot first = snapshotHolder.getSnapshot();
+
+        snapshotHolder.requestRefresh();
+
+        assertSame(first, snapshotHolder.getSnapshot());
+        assertEquals(75000, salaryIndex.highestSalary());
+    }
+
+    @Test
+    void testApplyCreated_writesThroughWithoutGoingUpstream() {
+        when(employeeApiClient.streamAllEmployees(any())).thenAnswer(streams(directory(75000)));
+        EmployeeSnapshot first = snapshotHolder.getSnapshot();
+
+        snapshotHolder.applyCreated(new Employee("3", "Emily Chen", 150000, 50, "Director", "emily.chen@example.com"));
+
+        EmployeeSnapshot second = snapshotHolder.getSnapshot();
+        assertTrue(second.version() > first.version());
+        assertEquals(3, second.employees().size());
+        assertEquals("Emily Chen", second.employees().get(2).getEmployeeName());
+        assertEquals(150000, salaryIndex.highestSalary());
+        verify(employeeApiClient, times(1)).streamAllEmployees(any());
+    }
+
+    @Test
+    void testApplyDeleted_removesOnlyThatEmployee() {
+        when(employeeApiClient.streamAllEmployees(any())).thenAnswer(streams(directory(75000)));
+        snapshotHolder.getSnapshot();
+
+        snapshotHolder.applyDeleted("2");
+
+        List<Employee> employees = snapshotHolder.getEmployees();
+        assertEquals(1, employees.size());
+        assertEquals("1", employees.get(0).getId());
+        assertEquals(50000, salaryIndex.highestSalary());
+        verify(employeeApiClient, times(1)).streamAllEmployees(any());
+    }
+
+    @Test
+    void testApplyBatch_publishesOneVersionPerBatch() {
+        when(employeeApiClient.streamAllEmployees(any())).thenAnswer(streams(directory(75000)));
+        EmployeeSnapshot first = snapshotHolder.getSnapshot();
+
+        snapshotHolder.applyCreated(List.of(
+                new Employee("3", "Emily Chen", 150000, 50, "Director", "emily.chen@example.com"),
+                new Employee("4", "Tom Miller", 135000, 48, "Principal Engineer", "tom.miller@example.com")));
+        EmployeeSnapshot created = snapshotHolder.getSnapshot();
+        snapshotHolder.applyDeleted(List.of("1", "3"));
+        EmployeeSnapshot deleted = snapshotHolder.getSnapshot();
+
+        assertEquals(first.version() + 1, created.version());
+        assertEquals(4, created.employees().size());
+        assertEquals(created.version() + 1, deleted.version());
+        assertEquals(List.of("2", "4"), deleted.employees().stream().map(Employee::getId).toList());
+        assertEquals(135000, salaryIndex.highestSalary());
+        verify(employeeApiClient, times(1)).streamAllEmployees(any());
+    }
+
+    @Test
+    void testSnapshotStats_followLoadsCreatesAndDeletes() {
+        when(employeeApiClient.streamAllEmployees(any())).thenAnswer(streams(directory(75000)));
+
+        EmployeeSnapshot loaded = snapshotHolder.getSnapshot();
+        snapshotHolder.applyCreated(new Employee("3", "Emily Chen", 150000, 50, "Director", "emily.chen@example.com"));
+        snapshotHolder.applyDeleted("2");
+        EmployeeSnapshot written = snapshotHolder.getSnapshot();
+
+        assertEquals(2, loaded.stats().count());
+        assertEquals(75000, loaded.stats().salary().max());
+        assertEquals(2, written.stats().count());
+        assertEquals(200000, written.stats().salary().sum());
+        assertEquals(150000, written.stats().salary().max());
+        assertEquals(List.of("Director", "Software Engineer"), List.copyOf(written.stats().titles().keySet()));
+    }
+
+    @Test
+    void testBindTo_reportsSnapshotSizeLoadsAndLocalWrites() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        snapshotHolder.bindTo(registry);
+        when(employeeApiClient.streamAllEmployees(any())).thenAnswer(streams(directory(75000)));
+
+        snapshotHolder.getSnapshot();
+        snapshotHolder.applyDeleted("2");
+
+        assertEquals(1, registry.get("employee.snapshot.size").gauge().value());
+        assertEquals(1, registry.get("employee.snapshot.local.writes").gauge().value());
+        assertEquals(1, registry.get("employee.snapshot.loads").tag("result", "loaded").functionCounter().count());
+        assertEquals(0, registry.get("employee.snapshot.loads").tag("result", "failed").functionCounter().count());
+    }
+
+    @Test
+    void testApplyDeleted_reconcilesWhenEmployeeIsMissingLocally() {
+        when(employeeApiClient.streamAllEmployees(any()))
+                .thenAnswer(streams(directory(75000)))
+                .thenAnswer(streams(directory(95000)));
+        snapshotHolder.getSnapshot();
+
+        snapshotHolder.applyDeleted("42");
+
+        assertEquals(95000, salaryIndex.highestSalary());
+        verify(employeeApiClient, times(2)).streamAllEmployees(any());
+    }
+
+    @Test
+    void testApplyCreated_reconcilesAfterTooManyLocalWrites() {
+        when(employeeApiClient.streamAllEmployees(any()))
+                .thenAnswer(streams(directory(75000)))
+                .thenAnswer(streams(directory(95000)));
+        snapshotHolder.getSnapshot();
+
+        for (int i = 0; i < 3; i++) {
+            snapshotHolder.applyCreated(new Employee("new-" + i, "New Hire", 40000, 30, "Intern", "new@example.com"));
+        }
+
+        assertEquals(2, snapshotHolder.getEmployees().size());
+        assertEquals(95000, salaryIndex.highestSalary());
+        verify(employeeApiClient, times(2)).streamAllEmployees(any());
+    }
+
+    @Test
+    void testGetSnapshot_propagatesFailureWhenNothingLoadedYet() {
+        when(employeeApiClient.streamAllEmployees(any())).thenThrow(new ExternalApiException("Service temporarily unavailable"));
+
+        assertThrows(ExternalApiException.class, () -> snapshotHolder.getSnapshot());
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeStatisticsTest {
+
+    private final EmployeeStatistics statistics = new EmployeeStatistics();
+
+    private List<Employee> directory() {
+        return new ArrayList<>(List.of(
+                new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"),
+                new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"),
+                new Employee("3", "Max Power", 90000, 58, "Software Engineer", "max.power@example.com"),
+                new Employee("4", "Ann Lee", 40000, 19, "Software Engineer", "ann.lee@example.com")));
+    }
+
+    @Test
+    void testSummarize_aggregatesDirectoryTitlesAndAgeBands() {
+        List<Employee> employees = directory();
+        statistics.rebuild(employees);
+
+        EmployeeStats stats = statistics.summarize();
+
+        assertEquals(4, stats.count());
+        assertEquals(255000, stats.salary().sum());
+        assertEquals(40000, stats.salary().min());
+        assertEquals(90000, stats.salary().max());
+        assertEquals(63750.0, stats.salary().average());
+        assertEquals(List.of("p50", "p75", "p90", "p95", "p99"), List.copyOf(stats.salary().percentiles().keySet()));
+        assertEquals(50000, stats.salary().percentiles().get("p50"), 50000 * EmployeeStatistics.RELATIVE_ACCURACY);
+        assertEquals(
+                Map.of("under 25", 1L, "25-34", 2L, "35-44", 0L, "45-54", 0L, "55-64", 1L, "65 and over", 0L),
+                stats.ageBands());
+        assertEquals(List.of("Product Manager", "Software Engineer"), List.copyOf(stats.titles().keySet()));
+        EmployeeStats.TitleStats engineers = stats.titles().get("Software Engineer");
+        assertEquals(3, engineers.count());
+        assertEquals(40000, engineers.salary().min());
+        assertEquals(90000, engineers.salary().max());
+        assertNull(stats.untitled());
+    }
+
+    @Test
+    void testSummarize_untitledEmployeesReportedApartFromTitles() {
+        List<Employee> employees = directory();
+        employees.add(new Employee("5", "No Title", 60000, 30, null, "no.title@example.com"));
+        employees.add(new Employee("6", "Real Unknown", 70000, 30, "unknown", "real.unknown@example.com"));
+        statistics.rebuild(employees);
+
+        EmployeeStats stats = statistics.summarize();
+
+        assertEquals(6, stats.count());
+        assertEquals(1, stats.titles().get("unknown").count());
+        assertEquals(70000, stats.titles().get("unknown").salary().max());
+        assertEquals(1, stats.untitled().count());
+        assertEquals(60000, stats.untitled().salary().max());
+
+        statistics.remove(employees.remove(4));
+        assertNull(statistics.summarize().untitled());
+    }
+
+    @Test
+    void testAddAndRemove_matchRebuiltStatistics() {
+        List<Employee> employees = directory();
+        statistics.rebuild(employees);
+        Employee created = new Employee("5", "New Hire", 120000, 41, "Data Scientist", "new.hire@example.com");
+        employees.add(created);
+        statistics.add(created);
+        Employee deleted = employees.remove(2);
+        statistics.remove(deleted);
+
+        EmployeeStatistics rebuilt = new EmployeeStatistics();
+        rebuilt.rebuild(employees);
+
+        assertEquals(rebuilt.summarize(), statistics.summarize());
+    }
+
+    @Test
+    void testRemove_deletingTitleExtremesFindsNextOnes() {
+        List<Employee> employees = directory();
+        Employee sameAsHighest = new Employee("5", "Sam Power", 90000, 40, "Software Engineer", "sam.power@example.com");
+        employees.add(sameAsHighest);
+        statistics.rebuild(employees);
+
+        statistics.remove(employees.remove(2));
+        EmployeeStats stats = statistics.summarize();
+        assertEquals(90000, stats.titles().get("Software Engineer").salary().max());
+        assertEquals(90000, stats.salary().max());
+
+        statistics.remove(sameAsHighest);
+        statistics.remove(employees.remove(2));
+        stats = statistics.summarize();
+        EmployeeStats.SalaryStats engineers = stats.titles().get("Software Engineer").salary();
+        assertEquals(50000, engineers.min());
+        assertEquals(50000, engineers.max());
+        assertEquals(50000, stats.salary().min());
+        assertEquals(75000, stats.salary().max());
+    }
+
+    @Test
+    void testSummarize_columnarDirectoryMatchesObjectDirectory() {
+        List<Employee> employees = directory();
+        ColumnarEmployees columns = ColumnarEmployees.copyOf(employees);
+        EmployeeStatistics columnar = new EmployeeStatistics();
+        columnar.rebuild(columns);
+        statistics.rebuild(employees);
+
+        assertEquals(statistics.summarize(), columnar.summarize());
+    }
+
+    @Test
+    void testRemove_lastEmployeeOfTitleDropsTitle() {
+        List<Employee> employees = directory();
+        statistics.rebuild(employees);
+
+        statistics.remove(employees.remove(1));
+        EmployeeStats stats = statistics.summarize();
+
+        assertFalse(stats.titles().containsKey("Product Manager"));
+        assertEquals(3, stats.count());
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.reliaquest.api.controller.EmployeeController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void testDoFilter_logsOneLinePerRequestWithRouteAndStatus() throws Exception {
+        AccessLogFilter filter = filter(1.0, Map.of());
+
+        filter.doFilter(request("getEmployeeById", "/api/v1/employee/{id}"), response(200), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("method=GET route=/api/v1/employee/{id} endpoint=getEmployeeById status=200"));
+        assertTrue(line.endsWith("sampleRate=1.0"));
+    }
+
+    @Test
+    void testDoFilter_appliesPerEndpointSampleRates() throws Exception {
+        AccessLogFilter filter = filter(1.0, Map.of("getEmployeeById", 0.0));
+
+        for (int i = 0; i < 100; i++) {
+            filter.doFilter(request("getEmployeeById", "/api/v1/employee/{id}"), response(200), new MockFilterChain());
+        }
+        filter.doFilter(request("createEmployee", "/api/v1/employee"), response(200), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("endpoint=createEmployee"));
+    }
+
+    @Test
+    void testDoFilter_alwaysLogsServerErrors() throws Exception {
+        AccessLogFilter filter = filter(0.0, Map.of());
+
+        filter.doFilter(request("getEmployeeById", "/api/v1/employee/{id}"), response(200), new MockFilterChain());
+        filter.doFilter(request("getEmployeeById", "/api/v1/employee/{id}"), response(503), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=503"));
+    }
+
+    @Test
+    void testDoFilter_alwaysLogsSlowRequests() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(
+                new AccessLogProperties(true, 0.0, Duration.ZERO, Map.of()));
+
+        filter.doFilter(request("getAllEmployees", "/api/v1/employee"), response(200), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+    }
+
+    private static AccessLogFilter filter(double sampleRate, Map<String, Double> endpoints) {
+        return new AccessLogFilter(new AccessLogProperties(true, sampleRate, Duration.ofMinutes(1), endpoints));
+    }
+
+    private static MockHttpServletRequest request(String endpoint, String route) {
+        Method method = Arrays.stream(EmployeeController.class.getMethods())
+                .filter(candidate -> candidate.getName().equals(endpoint))
+                .findFirst()
+                .orElseThrow();
+        MockHttpServletRequest request = new MockHttpServletRequest(endpoint.startsWith("create") ? "POST" : "GET", route);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(new Object(), method));
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        return request;
+    }
+
+    private static MockHttpServletResponse response(int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        return response;
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Policy;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+
+    private static Policy<Object, Object> policy(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache().policy();
+    }
+
+    @Test
+    void testCacheManager_specOverridesTheDefaults() {
+        CacheProperties properties = new CacheProperties(
+                new CacheProperties.Spec(1000L, Duration.ofMinutes(10), null),
+                Map.of("employees", new CacheProperties.Spec(5L, Duration.ofSeconds(30), null)));
+
+        Policy<Object, Object> policy = policy(cacheConfig.cacheManager(properties, Map.of()), "employees");
+
+        assertEquals(5L, policy.eviction().orElseThrow().getMaximum());
+        assertEquals(30, policy.expireAfterWrite().orElseThrow().getExpiresAfter(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCacheManager_cacheWithoutSpecUsesTheDefaults() {
+        CacheProperties properties = new CacheProperties(
+                new CacheProperties.Spec(250L, Duration.ofMinutes(10), null),
+                Map.of("employees", new CacheProperties.Spec(5L, null, null)));
+
+        Policy<Object, Object> policy = policy(cacheConfig.cacheManager(properties, Map.of()), "missingEmployeeIds");
+
+        assertEquals(250L, policy.eviction().orElseThrow().getMaximum());
+        assertEquals(10, policy.expireAfterWrite().orElseThrow().getExpiresAfter(TimeUnit.MINUTES));
+    }
+
+    @Test
+    void testCacheManager_refreshingCacheWithoutLoaderIsRejected() {
+        CacheProperties properties = new CacheProperties(
+                null, Map.of("employee", new CacheProperties.Spec(100L, null, Duration.ofMinutes(1))));
+
+        IllegalStateException ex = assertThrows(
+                IllegalStateException.class, () -> cacheConfig.cacheManager(properties, Map.of()));
+
+        assertTrue(ex.getMessage().contains("employeeCacheLoader"), ex.getMessage());
+    }
+
+    @Test
+    void testCacheManager_refreshingCacheLoadsMissesThroughItsLoader() {
+        CacheProperties properties = new CacheProperties(
+                null, Map.of("employee", new CacheProperties.Spec(100L, null, Duration.ofMinutes(1))));
+        List<Object> loaded = new CopyOnWriteArrayList<>();
+        CacheLoader<Object, Object> loader = id -> {
+            loaded.add(id);
+            return "employee " + id;
+        };
+
+        Cache cache = cacheConfig.cacheManager(properties, Map.of("employeeCacheLoader", loader)).getCache("employee");
+
+        assertEquals("employee 1", cache.get("1").get());
+        assertEquals("employee 1", cache.get("1").get());
+        assertEquals(List.of("1"), loaded);
+    }
+}
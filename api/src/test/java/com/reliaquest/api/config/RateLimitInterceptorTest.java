@@ -0,0 +1,42 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.util.AdaptiveRateLimiter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitInterceptorTest {
+
+    @Test
+    void testIntercept_recordsTheWaitForAPermitOnItsOwn() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(
+                Duration.ofSeconds(10), Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(60), 20);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, meterRegistry);
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        HttpRequest request = mock(HttpRequest.class);
+        byte[] body = new byte[0];
+        when(execution.execute(request, body)).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return response;
+        });
+
+        assertSame(response, interceptor.intercept(request, body, execution));
+
+        Timer wait = meterRegistry.get(RateLimitInterceptor.WAIT_TIMER).timer();
+        assertEquals(1, wait.count());
+        // the 50ms spent on the wire are not part of the wait
+        assertTrue(wait.totalTime(TimeUnit.MILLISECONDS) < 50);
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.config.TaskExecutionConfig;
+import com.reliaquest.api.service.IEmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeController.class)
+@Import(TaskExecutionConfig.class)
+@ImportAutoConfiguration(TaskExecutionAutoConfiguration.class)
+class EmployeeControllerTest {
+
+    private static final String VALID_INPUT = """
+            {"name": "John Doe", "salary": 50000, "age": 32, "title": "Software Engineer"}""";
+
+    private static final String BLANK_NAME_INPUT = """
+            {"name": " ", "salary": 50000, "age": 32, "title": "Software Engineer"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IEmployeeService employeeService;
+
+    @MockBean
+    private EmployeeJsonStreamWriter employeeJsonStreamWriter;
+
+    @Autowired
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void testStreamAllEmployees_WrittenOnApplicationTaskExecutor() throws Exception {
+        when(employeeService.getAllEmployees()).thenReturn(List.of());
+        AtomicReference<String> writerThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            writerThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(employeeJsonStreamWriter).writeArray(any(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/employee").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertNotNull(writerThread.get());
+        assertTrue(writerThread.get().startsWith(applicationTaskExecutor.getThreadNamePrefix()), writerThread.get());
+    }
+
+    @Test
+    void testCreateEmployee_InvalidInputIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/employee").contentType(MediaType.APPLICATION_JSON).content(BLANK_NAME_INPUT))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name[0]").value("Name cannot be blank"));
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testCreateEmployees_InvalidElementIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + VALID_INPUT + ", " + BLANK_NAME_INPUT + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['[1].name'][0]").value("Name cannot be blank"));
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testDeleteEmployeesByIds_NullIdIsBadRequest() throws Exception {
+        mockMvc.perform(delete("/api/v1/employee/batch").contentType(MediaType.APPLICATION_JSON).content("[null]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void testDeleteEmployeesByIds_EmptyListIsBadRequest() throws Exception {
+        mockMvc.perform(delete("/api/v1/employee/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeJsonStreamWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final EmployeeJsonStreamWriter streamWriter = new EmployeeJsonStreamWriter(objectMapper);
+
+    @Test
+    void testWriteArray_matchesListSerialization() throws Exception {
+        List<Employee> employees = List.of(
+                new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"),
+                new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamWriter.writeArray(employees, out);
+
+        assertEquals(objectMapper.writeValueAsString(employees), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteArray_emptyDirectory() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamWriter.writeArray(List.of(), out);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+}
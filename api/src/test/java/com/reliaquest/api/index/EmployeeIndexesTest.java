@@ -0,0 +1,54 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeIndexesTest {
+
+    private SalaryIndex salaryIndex;
+
+    private NameIndex nameIndex;
+
+    private EmployeeIndexes employeeIndexes;
+
+    @BeforeEach
+    void setUp() {
+        salaryIndex = new SalaryIndex();
+        nameIndex = new NameIndex();
+        employeeIndexes = new EmployeeIndexes(List.of(salaryIndex, nameIndex));
+    }
+
+    private List<Employee> getSampleEmployees() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        employees.add(new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"));
+        return employees;
+    }
+
+    @Test
+    void testRebuild_replacesPatchedEntries() {
+        employeeIndexes.rebuild(getSampleEmployees());
+        employeeIndexes.add(new Employee("3", "Emily Chen", 150000, 50, "Director", "emily.chen@example.com"));
+        assertEquals(150000, salaryIndex.highestSalary());
+        assertEquals(1, nameIndex.search("emily", 0).size());
+
+        employeeIndexes.rebuild(getSampleEmployees());
+        assertEquals(75000, salaryIndex.highestSalary());
+        assertTrue(nameIndex.search("emily", 0).isEmpty());
+    }
+
+    @Test
+    void testRemove_appliesToEveryIndex() {
+        employeeIndexes.rebuild(getSampleEmployees());
+
+        employeeIndexes.remove("2");
+
+        assertEquals(50000, salaryIndex.highestSalary());
+        assertTrue(nameIndex.search("jane", 0).isEmpty());
+    }
+}
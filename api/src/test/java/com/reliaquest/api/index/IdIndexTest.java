@@ -0,0 +1,45 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdIndexTest {
+
+    private IdIndex idIndex;
+
+    @BeforeEach
+    void setUp() {
+        idIndex = new IdIndex();
+    }
+
+    @Test
+    void testEmptyIndex() {
+        assertNull(idIndex.get("1"));
+        assertNull(idIndex.get(null));
+    }
+
+    @Test
+    void testRebuildAddAndRemove() {
+        idIndex.rebuild(List.of(
+                new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"),
+                new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com")));
+        assertEquals("Jane Smith", idIndex.get("2").getEmployeeName());
+
+        idIndex.add(new Employee("3", "Peter Jones", 90000, 45, "Senior Developer", "peter.jones@example.com"));
+        idIndex.remove("1");
+
+        assertNull(idIndex.get("1"));
+        assertEquals("Peter Jones", idIndex.get("3").getEmployeeName());
+    }
+
+    @Test
+    void testRebuild_dropsPreviousEntries() {
+        idIndex.add(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        idIndex.rebuild(List.of());
+        assertNull(idIndex.get("1"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private NameIndex nameIndex;
+
+    @BeforeEach
+    void setUp() {
+        nameIndex = new NameIndex();
+        nameIndex.rebuild(getSampleEmployees());
+    }
+
+    private List<Employee> getSampleEmployees() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        employees.add(new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"));
+        employees.add(new Employee("3", "Mary Johnson", 120000, 40, "Senior Manager", "mary.johnson@example.com"));
+        employees.add(new Employee("4", null, 60000, 35, "Data Analyst", "unknown@example.com"));
+        employees.add(new Employee("5", "Anna Annabel", 85000, 38, "Team Lead", "anna.annabel@example.com"));
+        return employees;
+    }
+
+    private List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeName).toList();
+    }
+
+    @Test
+    void testSearch_ignoresCaseAndKeepsSourceOrder() {
+        assertEquals(List.of("John Doe", "Mary Johnson"), names(nameIndex.search("JOHN", 0)));
+        assertEquals(List.of("Mary Johnson"), names(nameIndex.search("y joh", 0)));
+    }
+
+    @Test
+    void testSearch_withShortFragment() {
+        assertEquals(List.of("John Doe", "Mary Johnson"), names(nameIndex.search("jo", 0)));
+        assertEquals(List.of("Jane Smith", "Mary Johnson", "Anna Annabel"), names(nameIndex.search("a", 0)));
+    }
+
+    @Test
+    void testSearch_withRepeatedTrigramsReturnsEachEmployeeOnce() {
+        assertEquals(List.of("Anna Annabel"), names(nameIndex.search("ann", 0)));
+    }
+
+    @Test
+    void testSearch_withNoMatch() {
+        assertTrue(nameIndex.search("xyz", 0).isEmpty());
+        assertTrue(nameIndex.search("johnx", 0).isEmpty());
+    }
+
+    @Test
+    void testSearch_withMaxResults() {
+        assertEquals(List.of("John Doe"), names(nameIndex.search("john", 1)));
+        assertEquals(List.of("Jane Smith"), names(nameIndex.search("a", 1)));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        nameIndex.add(new Employee("6", "Johnny Cash", 90000, 45, "Singer", "johnny.cash@example.com"));
+        assertEquals(List.of("John Doe", "Mary Johnson", "Johnny Cash"), names(nameIndex.search("john", 0)));
+
+        nameIndex.remove("1");
+        nameIndex.remove("3");
+        assertEquals(List.of("Johnny Cash"), names(nameIndex.search("john", 0)));
+        assertEquals(List.of("Johnny Cash"), names(nameIndex.search("jo", 0)));
+    }
+
+    @Test
+    void testRemove_compactsAfterMostEntriesAreGone() {
+        for (String id : List.of("1", "2", "3", "5")) {
+            nameIndex.remove(id);
+        }
+        assertTrue(nameIndex.search("a", 0).isEmpty());
+
+        nameIndex.add(new Employee("7", "Jane Doe", 70000, 30, "Analyst", "jane.doe@example.com"));
+        assertEquals(List.of("Jane Doe"), names(nameIndex.search("jane", 0)));
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    private SalaryIndex salaryIndex;
+
+    @BeforeEach
+    void setUp() {
+        salaryIndex = new SalaryIndex();
+    }
+
+    private List<Employee> getSampleEmployees() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        employees.add(new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"));
+        employees.add(new Employee("3", "Peter Jones", 90000, 45, "Senior Developer", "peter.jones@example.com"));
+        employees.add(new Employee("4", "Alex White", 75000, 25, "Software Engineer", "alex.white@example.com"));
+        return employees;
+    }
+
+    @Test
+    void testEmptyIndex() {
+        assertEquals(0, salaryIndex.highestSalary());
+        assertTrue(salaryIndex.topEarnerNames(10).isEmpty());
+    }
+
+    @Test
+    void testRebuild_ordersBySalaryAndKeepsSourceOrderForTies() {
+        salaryIndex.rebuild(getSampleEmployees());
+
+        assertEquals(90000, salaryIndex.highestSalary());
+        assertEquals(List.of("Peter Jones", "Jane Smith", "Alex White", "John Doe"), salaryIndex.topEarnerNames(10));
+        assertEquals(List.of("Peter Jones", "Jane Smith"), salaryIndex.topEarnerNames(2));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        salaryIndex.rebuild(getSampleEmployees());
+
+        salaryIndex.add(new Employee("5", "Emily Chen", 150000, 50, "Director", "emily.chen@example.com"));
+        assertEquals(150000, salaryIndex.highestSalary());
+        assertEquals("Emily Chen", salaryIndex.topEarnerNames(1).get(0));
+
+        salaryIndex.remove("5");
+        salaryIndex.remove("3");
+        assertEquals(75000, salaryIndex.highestSalary());
+        assertEquals(List.of("Jane Smith", "Alex White", "John Doe"), salaryIndex.topEarnerNames(10));
+    }
+
+    @Test
+    void testAdd_replacesExistingEntryWithSameId() {
+        salaryIndex.rebuild(getSampleEmployees());
+
+        salaryIndex.add(new Employee("3", "Peter Jones", 40000, 45, "Senior Developer", "peter.jones@example.com"));
+
+        assertEquals(75000, salaryIndex.highestSalary());
+        assertEquals(4, salaryIndex.topEarnerNames(10).size());
+    }
+}
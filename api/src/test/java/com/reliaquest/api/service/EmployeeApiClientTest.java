@@ -1,10 +1,16 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.ExternalApiException;
 import com.reliaquest.api.model.ApiResponse;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,10 +21,22 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -34,68 +52,115 @@ class EmployeeApiClientTest {
 
     private final String baseUrl = "http://localhost:8112/api/v1/employee";
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         ReflectionTestUtils.setField(employeeApiClient, "baseUrl", baseUrl);
+        ReflectionTestUtils.setField(employeeApiClient, "meterRegistry", meterRegistry);
     }
 
     @Test
-    void testGetAllEmployees_Success() {
-        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>(
-                List.of(
-                        new Employee("1", "John Doe", 50000, 30, "dev", "john.doe@test.com"),
-                        new Employee("2", "Jane Smith", 60000, 32, "qa", "jane.smith@test.com")
-                ),
-                "success"
-        );
-        ResponseEntity<ApiResponse<List<Employee>>> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
-        when(restTemplate.exchange(
-                eq(baseUrl),
-                eq(HttpMethod.GET),
-                eq(null),
-                any(ParameterizedTypeReference.class)
-        )).thenReturn(responseEntity);
+    void testReadEmployees_passesEachEmployeeOfTheDataArray() throws Exception {
+        ReflectionTestUtils.setField(employeeApiClient, "objectMapper", new ObjectMapper());
+        String body = "{\"data\":[{\"id\":\"1\",\"employee_name\":\"John Doe\",\"employee_salary\":50000},"
+                + "{\"id\":\"2\",\"employee_name\":\"Jane Smith\",\"employee_salary\":60000}],"
+                + "\"status\":\"Successfully processed request.\"}";
+        List<Employee> employees = new ArrayList<>();
+
+        int count = employeeApiClient.readEmployees(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), employees::add);
+
+        assertEquals(2, count);
+        assertEquals("Jane Smith", employees.get(1).getEmployeeName());
+        assertEquals(60000, employees.get(1).getEmployeeSalary());
+    }
 
+    @Test
+    void testReadEmployees_skipsNullElementsWithoutTruncating() throws Exception {
+        ReflectionTestUtils.setField(employeeApiClient, "objectMapper", new ObjectMapper());
+        String body = "{\"data\":[{\"id\":\"1\",\"employee_name\":\"John Doe\"},null,"
+                + "{\"id\":\"2\",\"employee_name\":\"Jane Smith\"}],\"status\":\"Successfully processed request.\"}";
+        List<Employee> employees = new ArrayList<>();
 
-        List<Employee> employees = employeeApiClient.getAllEmployees();
+        int count = employeeApiClient.readEmployees(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), employees::add);
 
+        assertEquals(2, count);
+        assertEquals("Jane Smith", employees.get(1).getEmployeeName());
+    }
+
+    @Test
+    void testReadEmployees_failsOnNonObjectElement() {
+        ReflectionTestUtils.setField(employeeApiClient, "objectMapper", new ObjectMapper());
+        String body = "{\"data\":[{\"id\":\"1\"},42]}";
 
-        assertNotNull(employees);
-        assertEquals(2, employees.size());
-        assertEquals("John Doe", employees.get(0).getEmployeeName());
-        verify(restTemplate).exchange(eq(baseUrl), eq(HttpMethod.GET), eq(null), any(ParameterizedTypeReference.class));
+        assertThrows(IOException.class, () -> employeeApiClient.readEmployees(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), employee -> {}));
     }
 
     @Test
-    void testGetAllEmployees_ApiReturnsEmptyData() {
+    void testReadEmployees_missingDataYieldsNoEmployees() throws Exception {
+        ReflectionTestUtils.setField(employeeApiClient, "objectMapper", new ObjectMapper());
+        String body = "{\"status\":\"Successfully processed request.\"}";
+        List<Employee> employees = new ArrayList<>();
+
+        int count = employeeApiClient.readEmployees(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), employees::add);
 
-        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>(null, "success");
-        ResponseEntity<ApiResponse<List<Employee>>> responseEntity = new ResponseEntity<>(apiResponse, HttpStatus.OK);
+        assertEquals(0, count);
+        assertTrue(employees.isEmpty());
+    }
+
+    @Test
+    void testStreamAllEmployees_ApiThrowsUnexpectedException() {
+        when(restTemplate.execute(eq(baseUrl), eq(HttpMethod.GET), any(), any()))
+                .thenThrow(new RuntimeException("Connection failed"));
+
+        assertThrows(ExternalApiException.class, () -> employeeApiClient.streamAllEmployees(employee -> {}));
+    }
+
+    @Test
+    void testGetEmployeePages_followsCursorsUntilLastPage() {
+        employeeApiClient.self = employeeApiClient;
+        HttpHeaders firstPageHeaders = new HttpHeaders();
+        firstPageHeaders.add("X-Next-Cursor", "0");
+        ApiResponse<List<Employee>> firstPage = new ApiResponse<>(
+                List.of(new Employee("1", "John Doe", 50000, 30, "dev", "john.doe@test.com")), "success");
+        ApiResponse<List<Employee>> lastPage = new ApiResponse<>(
+                List.of(new Employee("2", "Jane Smith", 60000, 32, "qa", "jane.smith@test.com")), "success");
         when(restTemplate.exchange(
-                eq(baseUrl),
+                eq(baseUrl + "?limit=1"),
                 eq(HttpMethod.GET),
                 eq(null),
                 any(ParameterizedTypeReference.class)
-        )).thenReturn(responseEntity);
-
-
-        List<Employee> employees = employeeApiClient.getAllEmployees();
+        )).thenReturn(new ResponseEntity<>(firstPage, firstPageHeaders, HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(baseUrl + "?limit=1&cursor=0"),
+                eq(HttpMethod.GET),
+                eq(null),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(lastPage, HttpStatus.OK));
 
+        Iterator<List<Employee>> pages = employeeApiClient.getEmployeePages(1);
 
-        assertNotNull(employees);
-        assertTrue(employees.isEmpty());
+        assertEquals("John Doe", pages.next().get(0).getEmployeeName());
+        assertTrue(pages.hasNext());
+        assertEquals("Jane Smith", pages.next().get(0).getEmployeeName());
+        assertFalse(pages.hasNext());
     }
 
     @Test
-    void testGetAllEmployees_ApiThrowsUnexpectedException() {
+    void testGetEmployeePage_ApiThrowsUnexpectedException() {
         when(restTemplate.exchange(
-                eq(baseUrl),
+                eq(baseUrl + "?limit=10"),
                 eq(HttpMethod.GET),
                 eq(null),
                 any(ParameterizedTypeReference.class)
         )).thenThrow(new RuntimeException("Connection failed"));
 
-        assertThrows(RuntimeException.class, () -> employeeApiClient.getAllEmployees());
+        assertThrows(ExternalApiException.class, () -> employeeApiClient.getEmployeePage(10, null));
     }
 
     @Test
@@ -130,6 +195,42 @@ class EmployeeApiClientTest {
         assertThrows(ExternalApiException.class, () -> employeeApiClient.getEmployeeById(employeeId));
     }
 
+    @Test
+    void testGetEmployeeByIdAsync_Success() {
+        String employeeId = "1";
+        employeeApiClient.self = employeeApiClient;
+        ReflectionTestUtils.setField(employeeApiClient, "upstreamExecutor", (Executor) Runnable::run);
+        ApiResponse<Employee> apiResponse = new ApiResponse<>(new Employee(employeeId, "John Doe", 50000, 30, "dev", "john.doe@test.com"), "success");
+        when(restTemplate.exchange(
+                eq(baseUrl + "/" + employeeId),
+                eq(HttpMethod.GET),
+                eq(null),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        CompletableFuture<Employee> employee = employeeApiClient.getEmployeeByIdAsync(employeeId);
+
+        assertEquals("John Doe", employee.join().getEmployeeName());
+    }
+
+    @Test
+    void testGetEmployeeByIdAsync_NotFoundCompletesExceptionally() {
+        String employeeId = "1";
+        employeeApiClient.self = employeeApiClient;
+        ReflectionTestUtils.setField(employeeApiClient, "upstreamExecutor", (Executor) Runnable::run);
+        when(restTemplate.exchange(
+                eq(baseUrl + "/" + employeeId),
+                eq(HttpMethod.GET),
+                eq(null),
+                any(ParameterizedTypeReference.class)
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        CompletableFuture<Employee> employee = employeeApiClient.getEmployeeByIdAsync(employeeId);
+
+        CompletionException ex = assertThrows(CompletionException.class, employee::join);
+        assertInstanceOf(EmployeeNotFoundException.class, ex.getCause());
+    }
+
     @Test
     void testCreateEmployee_Success() {
         CreateEmployeeRequest request = new CreateEmployeeRequest("Test User", 50000, 30,"dev");
@@ -209,4 +310,252 @@ class EmployeeApiClientTest {
 
         assertThrows(RuntimeException.class, () -> employeeApiClient.deleteEmployee(employeeName));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateEmployees_Success() {
+        employeeApiClient.self = employeeApiClient;
+        List<CreateEmployeeRequest> requests = List.of(
+                new CreateEmployeeRequest("Test One", 50000, 30, "dev"),
+                new CreateEmployeeRequest("Test Two", 60000, 31, "dev"));
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>(List.of(
+                new Employee("1", "Test One", 50000, 30, "dev", "one@test.com"),
+                new Employee("2", "Test Two", 60000, 31, "dev", "two@test.com")), "success");
+
+        when(restTemplate.exchange(
+                eq(baseUrl + "/batch"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.CREATED));
+
+        List<Employee> created = employeeApiClient.createEmployees(requests);
+
+        assertEquals(2, created.size());
+        assertEquals("Test Two", created.get(1).getEmployeeName());
+    }
+
+    @Test
+    void testDeleteEmployees_MismatchedResponse_ExternalApiException() {
+        employeeApiClient.self = employeeApiClient;
+        ApiResponse<List<Boolean>> apiResponse = new ApiResponse<>(List.of(true), "success");
+
+        when(restTemplate.exchange(
+                eq(baseUrl + "/batch"),
+                eq(HttpMethod.DELETE),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        assertThrows(ExternalApiException.class, () -> employeeApiClient.deleteEmployees(List.of("One", "Two")));
+    }
+
+    @Test
+    void testDeleteEmployees_SplitsIntoBatchesTheServerAccepts() {
+        employeeApiClient.self = employeeApiClient;
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            names.add("Employee " + i);
+        }
+        List<Integer> batchSizes = new ArrayList<>();
+        when(restTemplate.exchange(
+                eq(baseUrl + "/batch"),
+                eq(HttpMethod.DELETE),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)
+        )).thenAnswer(invocation -> {
+            HttpEntity<List<Map<String, Object>>> request = invocation.getArgument(2);
+            List<Map<String, Object>> body = request.getBody();
+            batchSizes.add(body.size());
+            List<Boolean> deleted = body.stream().map(name -> !name.get("name").equals("Employee 1500")).toList();
+            return new ResponseEntity<>(new ApiResponse<>(deleted, "success"), HttpStatus.OK);
+        });
+
+        List<Boolean> deleted = employeeApiClient.deleteEmployees(names);
+
+        assertEquals(List.of(1000, 1000, 500), batchSizes);
+        assertEquals(2500, deleted.size());
+        assertFalse(deleted.get(1500));
+        assertTrue(deleted.get(2499));
+    }
+
+    @Test
+    void testDeleteEmployees_FailedSecondBatchReportsFirstBatch() {
+        employeeApiClient.self = employeeApiClient;
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            names.add("Employee " + i);
+        }
+        when(restTemplate.exchange(
+                eq(baseUrl + "/batch"),
+                eq(HttpMethod.DELETE),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)
+        )).thenAnswer(invocation -> {
+            HttpEntity<List<Map<String, Object>>> request = invocation.getArgument(2);
+            List<Boolean> deleted = request.getBody().stream().map(name -> true).toList();
+            return new ResponseEntity<>(new ApiResponse<>(deleted, "success"), HttpStatus.OK);
+        }).thenThrow(new ResourceAccessException("Connection reset"));
+        List<Integer> reportedBatches = new ArrayList<>();
+
+        assertThrows(ExternalApiException.class,
+                () -> employeeApiClient.deleteEmployees(names, batch -> reportedBatches.add(batch.size())));
+        assertEquals(List.of(1000), reportedBatches);
+    }
+
+    @Test
+    void testCreateEmployees_EmptyListSendsNothing() {
+        employeeApiClient.self = employeeApiClient;
+
+        assertTrue(employeeApiClient.createEmployees(List.of()).isEmpty());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testInitWriteBatching_RejectsMaxSizeAboveServerLimit() {
+        ReflectionTestUtils.setField(employeeApiClient, "writeBatchWindow", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(employeeApiClient, "writeBatchMaxSize", 1001);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, employeeApiClient::initWriteBatching);
+
+        assertTrue(ex.getMessage().contains("1000"));
+    }
+
+    @Test
+    void testCreateEmployee_WriteBatching_ConcurrentCallsShareOneRequest() throws Exception {
+        employeeApiClient.self = employeeApiClient;
+        ReflectionTestUtils.setField(employeeApiClient, "upstreamExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(employeeApiClient, "writeBatchWindow", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(employeeApiClient, "writeBatchMaxSize", 2);
+        employeeApiClient.initWriteBatching();
+        ApiResponse<List<Employee>> apiResponse = new ApiResponse<>(List.of(
+                new Employee("1", "Test One", 50000, 30, "dev", "one@test.com"),
+                new Employee("2", "Test Two", 60000, 31, "dev", "two@test.com")), "success");
+        when(restTemplate.exchange(
+                eq(baseUrl + "/batch"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)
+        )).thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.CREATED));
+
+        CompletableFuture<Employee> first = CompletableFuture.supplyAsync(
+                () -> employeeApiClient.createEmployee(new CreateEmployeeRequest("Test One", 50000, 30, "dev")));
+        CompletableFuture<Employee> second = CompletableFuture.supplyAsync(
+                () -> employeeApiClient.createEmployee(new CreateEmployeeRequest("Test Two", 60000, 31, "dev")));
+
+        // the stubbed batch answers in a fixed order, so only the set of results is deterministic
+        assertEquals(Set.of("1", "2"), Set.of(
+                first.get(5, TimeUnit.SECONDS).getId(), second.get(5, TimeUnit.SECONDS).getId()));
+        verify(restTemplate, times(1)).exchange(
+                eq(baseUrl + "/batch"), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).exchange(
+                eq(baseUrl), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void testCreateEmployee_WriteBatching_InvalidEmployeeFailsOnlyItsOwnCaller() throws Exception {
+        employeeApiClient.self = employeeApiClient;
+        ReflectionTestUtils.setField(employeeApiClient, "upstreamExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(employeeApiClient, "writeBatchWindow", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(employeeApiClient, "writeBatchMaxSize", 2);
+        employeeApiClient.initWriteBatching();
+        when(restTemplate.exchange(
+                eq(baseUrl + "/batch"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)
+        )).thenAnswer(invocation -> {
+            HttpEntity<List<Map<String, Object>>> request = invocation.getArgument(2);
+            List<Map<String, Object>> body = request.getBody();
+            if (body.stream().anyMatch(employee -> "Invalid".equals(employee.get("name")))) {
+                throw HttpClientErrorException.create(
+                        HttpStatus.BAD_REQUEST, "Bad Request", HttpHeaders.EMPTY, null, null);
+            }
+            List<Employee> created = body.stream()
+                    .map(employee -> new Employee("1", (String) employee.get("name"), 50000, 30, "dev", null))
+                    .toList();
+            return new ResponseEntity<>(new ApiResponse<>(created, "success"), HttpStatus.CREATED);
+        });
+
+        CompletableFuture<Employee> valid = CompletableFuture.supplyAsync(
+                () -> employeeApiClient.createEmployee(new CreateEmployeeRequest("Valid", 50000, 30, "dev")));
+        CompletableFuture<Employee> invalid = CompletableFuture.supplyAsync(
+                () -> employeeApiClient.createEmployee(new CreateEmployeeRequest("Invalid", 50000, 15, "dev")));
+
+        assertEquals("Valid", valid.get(5, TimeUnit.SECONDS).getEmployeeName());
+        CompletionException ex = assertThrows(CompletionException.class, invalid::join);
+        assertInstanceOf(ExternalApiException.class, ex.getCause());
+        verify(restTemplate, times(3)).exchange(
+                eq(baseUrl + "/batch"), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void testGetEmployeeById_TimesEachCallByOutcome() {
+        ApiResponse<Employee> apiResponse = new ApiResponse<>(new Employee("1", "John Doe", 50000, 30, "dev", "john.doe@test.com"), "success");
+        when(restTemplate.exchange(
+                eq(baseUrl + "/1"),
+                eq(HttpMethod.GET),
+                eq(null),
+                any(ParameterizedTypeReference.class)
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY, null, null))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+        when(restTemplate.exchange(
+                eq(baseUrl + "/2"),
+                eq(HttpMethod.GET),
+                eq(null),
+                any(ParameterizedTypeReference.class)
+        )).thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        // without the retry proxy each call is a single attempt
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> employeeApiClient.getEmployeeById("1"));
+        employeeApiClient.getEmployeeById("1");
+        assertThrows(EmployeeNotFoundException.class, () -> employeeApiClient.getEmployeeById("2"));
+
+        for (String outcome : List.of("throttled", "ok", "not_found")) {
+            assertEquals(1, meterRegistry.get(EmployeeApiClient.CALL_TIMER)
+                    .tag("operation", "getEmployeeById")
+                    .tag("outcome", outcome)
+                    .timer()
+                    .count());
+        }
+    }
+
+    @Test
+    void testGetEmployeeById_TagsEachRetryAttempt() {
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(HttpClientErrorException.TooManyRequests.class)
+                .build());
+        ReflectionTestUtils.setField(employeeApiClient, "retryRegistry", retryRegistry);
+        employeeApiClient.initRetryAttempts();
+        ApiResponse<Employee> apiResponse = new ApiResponse<>(
+                new Employee("1", "John Doe", 50000, 30, "dev", "john.doe@test.com"), "success");
+        HttpClientErrorException throttled = HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY, null, null);
+        when(restTemplate.exchange(
+                eq(baseUrl + "/1"),
+                eq(HttpMethod.GET),
+                eq(null),
+                any(ParameterizedTypeReference.class)
+        )).thenThrow(throttled, throttled)
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+        Retry retry = retryRegistry.retry(EmployeeApiClient.RETRY_NAME);
+
+        retry.executeSupplier(() -> employeeApiClient.getEmployeeById("1"));
+        retry.executeSupplier(() -> employeeApiClient.getEmployeeById("1"));
+
+        assertEquals(1, attemptTimer("throttled", "1").count());
+        assertEquals(1, attemptTimer("throttled", "2").count());
+        assertEquals(1, attemptTimer("ok", "3").count());
+        // the next call starts again at the first attempt
+        assertEquals(1, attemptTimer("ok", "1").count());
+    }
+
+    private Timer attemptTimer(String outcome, String attempt) {
+        return meterRegistry.get(EmployeeApiClient.CALL_TIMER)
+                .tag("operation", "getEmployeeById")
+                .tag("outcome", outcome)
+                .tag("attempt", attempt)
+                .timer();
+    }
+}
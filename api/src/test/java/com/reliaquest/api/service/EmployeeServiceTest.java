@@ -1,16 +1,31 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotHolder;
+import com.reliaquest.api.cache.MissingEmployeeCache;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.ExternalApiException;
+import com.reliaquest.api.index.EmployeeIndexes;
+import com.reliaquest.api.index.IdIndex;
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.SalaryIndex;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -23,11 +38,37 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeService self;
 
-    @InjectMocks
+    @Mock
+    private EmployeeSnapshotHolder snapshotHolder;
+
+    @Mock
+    private MissingEmployeeCache missingEmployeeCache;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache employeeCache;
+
     private EmployeeService employeeService;
 
+    private EmployeeIndexes employeeIndexes;
+
     @BeforeEach
     void setUp() {
+        SalaryIndex salaryIndex = new SalaryIndex();
+        NameIndex nameIndex = new NameIndex();
+        IdIndex idIndex = new IdIndex();
+        employeeIndexes = new EmployeeIndexes(List.of(idIndex, salaryIndex, nameIndex));
+        employeeService = new EmployeeService(
+                employeeApiClient,
+                new UpstreamRequestCoalescer(),
+                snapshotHolder,
+                missingEmployeeCache,
+                cacheManager,
+                idIndex,
+                salaryIndex,
+                nameIndex);
         employeeService.self = self;
     }
 
@@ -47,39 +88,52 @@ class EmployeeServiceTest {
         return employees;
     }
 
+    private void givenDirectory(List<Employee> employees) {
+        employeeIndexes.rebuild(employees);
+    }
+
     @Test
     void testGetAllEmployees() {
         List<Employee> mockEmployees = getSampleEmployees();
-        when(employeeApiClient.getAllEmployees()).thenReturn(mockEmployees);
+        when(snapshotHolder.getEmployees()).thenReturn(mockEmployees);
         List<Employee> employees = employeeService.getAllEmployees();
         assertNotNull(employees);
         assertEquals(mockEmployees.size(), employees.size());
         assertEquals("John Doe", employees.get(0).getEmployeeName());
-        verify(employeeApiClient).getAllEmployees();
+        verify(snapshotHolder).getEmployees();
     }
 
     @Test
     void testGetEmployeesByNameSearch_withValidSearchTerm() {
         List<Employee> mockEmployees = getSampleEmployees();
-        when(self.getAllEmployees()).thenReturn(mockEmployees);
+        givenDirectory(mockEmployees);
         String searchTerm = "john";
         List<Employee> result = employeeService.getEmployeesByNameSearch(searchTerm);
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(2, result.size());
         assertTrue(result.stream().anyMatch(e -> "John Doe".equals(e.getEmployeeName())));
-        verify(self).getAllEmployees();
+        verify(snapshotHolder).getSnapshot();
     }
 
     @Test
     void testGetEmployeesByNameSearch_withNoMatchingEmployees() {
         List<Employee> mockEmployees = getSampleEmployees();
-        when(self.getAllEmployees()).thenReturn(mockEmployees);
+        givenDirectory(mockEmployees);
         String searchTerm = "notfound";
         List<Employee> result = employeeService.getEmployeesByNameSearch(searchTerm);
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(self).getAllEmployees();
+        verify(snapshotHolder).getSnapshot();
+    }
+
+    @Test
+    void testGetEmployeesByNameSearch_withMaxResults() {
+        ReflectionTestUtils.setField(employeeService, "maxSearchResults", 1);
+        givenDirectory(getSampleEmployees());
+        List<Employee> result = employeeService.getEmployeesByNameSearch("john");
+        assertEquals(1, result.size());
+        assertEquals("John Doe", result.get(0).getEmployeeName());
     }
 
     @Test
@@ -99,29 +153,51 @@ class EmployeeServiceTest {
         verify(employeeApiClient).getEmployeeById("1");
     }
 
+    @Test
+    void testGetEmployeeById_servedFromLoadedDirectory() {
+        givenDirectory(getSampleEmployees());
+        Employee employee = employeeService.getEmployeeById("3");
+        assertEquals("Peter Jones", employee.getEmployeeName());
+        verifyNoInteractions(employeeApiClient);
+    }
+
+    @Test
+    void testGetEmployeeById_recordsMissingId() {
+        when(employeeApiClient.getEmployeeById("42")).thenThrow(new EmployeeNotFoundException("Employee not found with id: 42"));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById("42"));
+        verify(missingEmployeeCache).recordMissing("42");
+    }
+
+    @Test
+    void testGetEmployeeById_knownMissingIdSkipsUpstream() {
+        when(missingEmployeeCache.isMissing("42")).thenReturn(true);
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById("42"));
+        verify(employeeApiClient, never()).getEmployeeById("42");
+    }
+
     @Test
     void testGetHighestSalaryOfEmployees() {
         List<Employee> mockEmployees = getSampleEmployees();
-        when(self.getAllEmployees()).thenReturn(mockEmployees);
+        givenDirectory(mockEmployees);
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
         assertNotNull(highestSalary);
         assertEquals(150000, highestSalary);
-        verify(self).getAllEmployees();
+        verify(snapshotHolder).getSnapshot();
     }
 
     @Test
     void testGetHighestSalaryOfEmployees_withEmptyList() {
-        when(self.getAllEmployees()).thenReturn(Collections.emptyList());
+        givenDirectory(Collections.emptyList());
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
         assertNotNull(highestSalary);
         assertEquals(0, highestSalary);
-        verify(self).getAllEmployees();
+        verify(snapshotHolder).getSnapshot();
     }
 
     @Test
     void testGetTopTenHighestSalariedEmployee() {
         List<Employee> mockEmployees = getSampleEmployees();
-        when(self.getAllEmployees()).thenReturn(mockEmployees);
+        givenDirectory(mockEmployees);
         List<String> topTenEmployees = employeeService.getTopTenHighestSalariedEmployee();
         assertNotNull(topTenEmployees);
         assertEquals(10, topTenEmployees.size());
@@ -129,7 +205,7 @@ class EmployeeServiceTest {
         assertEquals("Tim White", topTenEmployees.get(1));
         assertEquals("Tom Miller", topTenEmployees.get(2));
         assertEquals("Mary Johnson", topTenEmployees.get(3));
-        verify(self).getAllEmployees();
+        verify(snapshotHolder).getSnapshot();
     }
 
     @Test
@@ -137,13 +213,23 @@ class EmployeeServiceTest {
         List<Employee> smallList = new ArrayList<>();
         smallList.add(new Employee("1", "Test 1", 10000, 30, "dev", "a@b.com"));
         smallList.add(new Employee("2", "Test 2", 20000, 30, "dev", "a@b.com"));
-        when(self.getAllEmployees()).thenReturn(smallList);
+        givenDirectory(smallList);
         List<String> topTenEmployees = employeeService.getTopTenHighestSalariedEmployee();
         assertNotNull(topTenEmployees);
         assertEquals(2, topTenEmployees.size());
         assertEquals("Test 2", topTenEmployees.get(0));
         assertEquals("Test 1", topTenEmployees.get(1));
-        verify(self).getAllEmployees();
+        verify(snapshotHolder).getSnapshot();
+    }
+
+    @Test
+    void testGetEmployeeStats_servedFromSnapshot() {
+        EmployeeStats stats = new EmployeeStats(
+                0, new EmployeeStats.SalaryStats(0, 0, null, null, null, Map.of()), Map.of(), Map.of(), null);
+        when(snapshotHolder.getSnapshot()).thenReturn(new EmployeeSnapshot(1, List.of(), Instant.now(), stats));
+
+        assertSame(stats, employeeService.getEmployeeStats());
+        verifyNoInteractions(employeeApiClient);
     }
 
     @Test
@@ -155,6 +241,8 @@ class EmployeeServiceTest {
         assertNotNull(createdEmployee);
         assertEquals("Test User", createdEmployee.getEmployeeName());
         verify(employeeApiClient).createEmployee(request);
+        verify(snapshotHolder).applyCreated(mockEmployee);
+        verify(missingEmployeeCache).invalidateAll();
     }
 
     @Test
@@ -169,5 +257,119 @@ class EmployeeServiceTest {
         assertEquals("successfully! deleted records", result);
         verify(self).getEmployeeById(employeeId);
         verify(employeeApiClient).deleteEmployee(employeeName);
+        verify(snapshotHolder).applyDeleted(employeeId);
+        verify(missingEmployeeCache).recordMissing(employeeId);
+    }
+
+    @Test
+    void testCreateEmployees_AppliesBatchOnce() {
+        List<CreateEmployeeRequest> requests = List.of(
+                new CreateEmployeeRequest("Test One", 50000, 30, "Tester"),
+                new CreateEmployeeRequest("Test Two", 60000, 31, "Tester"));
+        List<Employee> created = List.of(
+                new Employee("12", "Test One", 50000, 30, "Tester", "test.one@example.com"),
+                new Employee("13", "Test Two", 60000, 31, "Tester", "test.two@example.com"));
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<Employee>>>getArgument(1).accept(created);
+            return null;
+        }).when(employeeApiClient).createEmployees(eq(requests), any());
+
+        List<Employee> result = employeeService.createEmployees(requests);
+
+        assertEquals(created, result);
+        verify(snapshotHolder).applyCreated(created);
+        verify(missingEmployeeCache).invalidateAll();
+        verify(employeeApiClient, never()).createEmployee(any());
+    }
+
+    @Test
+    void testCreateEmployees_FailedLaterBatchStillAppliesEarlierBatches() {
+        List<CreateEmployeeRequest> requests = List.of(
+                new CreateEmployeeRequest("Test One", 50000, 30, "Tester"),
+                new CreateEmployeeRequest("Test Two", 60000, 31, "Tester"));
+        List<Employee> firstBatch = List.of(
+                new Employee("12", "Test One", 50000, 30, "Tester", "test.one@example.com"));
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<Employee>>>getArgument(1).accept(firstBatch);
+            throw new ExternalApiException("Failed to create employees");
+        }).when(employeeApiClient).createEmployees(eq(requests), any());
+
+        assertThrows(ExternalApiException.class, () -> employeeService.createEmployees(requests));
+        verify(snapshotHolder).applyCreated(firstBatch);
+        verify(missingEmployeeCache).invalidateAll();
+    }
+
+    @Test
+    void testDeleteEmployeesByIds_AppliesOnlyDeleted() {
+        when(cacheManager.getCache("employee")).thenReturn(employeeCache);
+        when(self.getEmployeeById("1"))
+                .thenReturn(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        when(self.getEmployeeById("2"))
+                .thenReturn(new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"));
+        givenDeleted(List.of("John Doe", "Jane Smith"), List.of(true, false));
+
+        List<String> result = employeeService.deleteEmployeesByIds(List.of("1", "2"));
+
+        assertEquals(List.of("John Doe"), result);
+        verify(snapshotHolder).applyDeleted(List.of("1"));
+        verify(missingEmployeeCache).recordMissing("1");
+        verify(missingEmployeeCache, never()).recordMissing("2");
+        verify(employeeCache).evict("1");
+        verify(employeeCache, never()).evict("2");
+        verify(employeeCache, never()).clear();
+    }
+
+    @Test
+    void testDeleteEmployeesByIds_RepeatedIdsResolvedAndDeletedOnce() {
+        when(cacheManager.getCache("employee")).thenReturn(employeeCache);
+        when(self.getEmployeeById("1"))
+                .thenReturn(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        givenDeleted(List.of("John Doe"), List.of(true));
+
+        List<String> result = employeeService.deleteEmployeesByIds(List.of("1", "1", "1"));
+
+        assertEquals(List.of("John Doe"), result);
+        verify(self, times(1)).getEmployeeById("1");
+        verify(snapshotHolder).applyDeleted(List.of("1"));
+        verify(employeeCache).evict("1");
+    }
+
+    @Test
+    void testDeleteEmployeesByIds_UnknownIdDeletesNothing() {
+        when(self.getEmployeeById("1"))
+                .thenReturn(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        when(self.getEmployeeById("missing")).thenThrow(new EmployeeNotFoundException("Employee not found"));
+
+        assertThrows(EmployeeNotFoundException.class,
+                () -> employeeService.deleteEmployeesByIds(List.of("1", "missing")));
+        verify(employeeApiClient, never()).deleteEmployees(any(), any());
+        verifyNoInteractions(snapshotHolder);
+    }
+
+    @Test
+    void testDeleteEmployeesByIds_FailedLaterBatchStillAppliesEarlierBatches() {
+        when(cacheManager.getCache("employee")).thenReturn(employeeCache);
+        when(self.getEmployeeById("1"))
+                .thenReturn(new Employee("1", "John Doe", 50000, 32, "Software Engineer", "john.doe@example.com"));
+        when(self.getEmployeeById("2"))
+                .thenReturn(new Employee("2", "Jane Smith", 75000, 28, "Product Manager", "jane.smith@example.com"));
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<Boolean>>>getArgument(1).accept(List.of(true));
+            throw new ExternalApiException("Unexpected response deleting employees");
+        }).when(employeeApiClient).deleteEmployees(eq(List.of("John Doe", "Jane Smith")), any());
+
+        assertThrows(ExternalApiException.class, () -> employeeService.deleteEmployeesByIds(List.of("1", "2")));
+        verify(snapshotHolder).applyDeleted(List.of("1"));
+        verify(employeeCache).evict("1");
+        verify(employeeCache, never()).evict("2");
+        verify(missingEmployeeCache).recordMissing("1");
+        verify(missingEmployeeCache, never()).recordMissing("2");
+    }
+
+    private void givenDeleted(List<String> names, List<Boolean> deleted) {
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<Boolean>>>getArgument(1).accept(deleted);
+            return null;
+        }).when(employeeApiClient).deleteEmployees(eq(names), any());
     }
-}
\ No newline at end of file
+}
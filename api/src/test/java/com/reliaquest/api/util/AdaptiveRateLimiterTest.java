@@ -0,0 +1,119 @@
+package com.reliaquest.api.util;
+
+import com.reliaquest.api.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveRateLimiterTest {
+
+    /**
+     * Same rules as the mock server's RandomRequestLimitInterceptor: {@code limit} counted requests, then 429 until
+     * {@code backoff} has passed since the last counted request; the request that observes the elapsed back-off resets
+     * the counter without being counted.
+     */
+    private static final class UpstreamBudget {
+        private final int limit;
+        private final long backoffNanos;
+        private int count;
+        private long lastRequested = System.nanoTime();
+
+        private UpstreamBudget(int limit, Duration backoff) {
+            this.limit = limit;
+            this.backoffNanos = backoff.toNanos();
+        }
+
+        private synchronized boolean accept() {
+            long now = System.nanoTime();
+            if (count >= limit) {
+                if (now - lastRequested < backoffNanos) {
+                    return false;
+                }
+                count = 0;
+                lastRequested = now;
+                return true;
+            }
+            count++;
+            lastRequested = now;
+            return true;
+        }
+    }
+
+    private AdaptiveRateLimiter limiter(Duration cooldown) {
+        return new AdaptiveRateLimiter(cooldown, Duration.ofMillis(10), Duration.ofSeconds(1), Duration.ofSeconds(5), 1000);
+    }
+
+    @Test
+    void testAcquire_doesNotBlockWhileBudgetIsUnknown() {
+        AdaptiveRateLimiter limiter = limiter(Duration.ofSeconds(10));
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            limiter.onAccepted(limiter.acquire());
+        }
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertEquals(0, limiter.budget());
+    }
+
+    @Test
+    void testOnThrottled_holdsCallersForCooldown() {
+        AdaptiveRateLimiter limiter = limiter(Duration.ofMillis(200));
+        limiter.onThrottled(limiter.acquire());
+
+        long start = System.nanoTime();
+        limiter.acquire();
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(150).toNanos());
+    }
+
+    @Test
+    void testAcquire_learnsUpstreamBudgetAndStopsBeingThrottled() {
+        UpstreamBudget upstream = new UpstreamBudget(3, Duration.ofMillis(100));
+        AdaptiveRateLimiter limiter = limiter(Duration.ofMillis(150));
+
+        int throttled = 0;
+        for (int i = 0; i < 40; i++) {
+            long permit = limiter.acquire();
+            if (upstream.accept()) {
+                limiter.onAccepted(permit);
+            } else {
+                throttled++;
+                limiter.onThrottled(permit);
+            }
+        }
+
+        assertEquals(4, limiter.budget());
+        assertTrue(throttled <= 2, "throttled " + throttled + " times");
+    }
+
+    @Test
+    void testAcquire_growsCooldownWhenItIsTooShort() {
+        UpstreamBudget upstream = new UpstreamBudget(3, Duration.ofMillis(200));
+        AdaptiveRateLimiter limiter = limiter(Duration.ofMillis(50));
+
+        int throttledLate = 0;
+        for (int i = 0; i < 60; i++) {
+            long permit = limiter.acquire();
+            if (upstream.accept()) {
+                limiter.onAccepted(permit);
+            } else {
+                limiter.onThrottled(permit);
+                if (i >= 40) {
+                    throttledLate++;
+                }
+            }
+        }
+
+        assertTrue(limiter.cooldown().toMillis() >= 200);
+        assertEquals(0, throttledLate);
+    }
+
+    @Test
+    void testAcquire_timesOutWhenNoPermitBecomesAvailable() {
+        AdaptiveRateLimiter limiter =
+                new AdaptiveRateLimiter(Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofSeconds(1), Duration.ofMillis(50), 1000);
+        limiter.onThrottled(limiter.acquire());
+
+        assertThrows(ExternalApiException.class, limiter::acquire);
+    }
+}
@@ -0,0 +1,155 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    private ExecutorService executor;
+
+    private List<List<String>> calls;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        calls = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private List<String> upperCase(List<String> items) {
+        calls.add(items);
+        return items.stream().map(String::toUpperCase).toList();
+    }
+
+    @Test
+    void testSubmit_itemsWithinOneWindowShareOneCall() throws Exception {
+        MicroBatcher<String, String> batcher =
+                new MicroBatcher<>(this::upperCase, 100, Duration.ofMillis(50), executor);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (String item : List.of("a", "b", "c")) {
+            results.add(batcher.submit(item));
+        }
+
+        assertEquals("A", results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("B", results.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals("C", results.get(2).get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "b", "c")), calls);
+        assertEquals(3, batcher.submittedCount());
+        assertEquals(1, batcher.batchCount());
+    }
+
+    @Test
+    void testSubmit_fullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        MicroBatcher<String, String> batcher =
+                new MicroBatcher<>(this::upperCase, 2, Duration.ofMinutes(1), executor);
+
+        CompletableFuture<String> first = batcher.submit("a");
+        CompletableFuture<String> second = batcher.submit("b");
+
+        assertEquals("A", first.get(5, TimeUnit.SECONDS));
+        assertEquals("B", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "b")), calls);
+    }
+
+    @Test
+    void testSubmit_laterItemsOpenANewWindow() throws Exception {
+        MicroBatcher<String, String> batcher =
+                new MicroBatcher<>(this::upperCase, 100, Duration.ofMillis(10), executor);
+
+        assertEquals("A", batcher.submit("a").get(5, TimeUnit.SECONDS));
+        assertEquals("B", batcher.submit("b").get(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(List.of("a"), List.of("b")), calls);
+    }
+
+    @Test
+    void testSubmit_failedCallFailsEveryItemOfTheBatch() {
+        IllegalStateException failure = new IllegalStateException("upstream down");
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(items -> {
+            throw failure;
+        }, 2, Duration.ofMinutes(1), executor);
+
+        CompletableFuture<String> first = batcher.submit("a");
+        CompletableFuture<String> second = batcher.submit("b");
+
+        for (CompletableFuture<String> result : List.of(first, second)) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+    }
+
+    @Test
+    void testSubmit_failedCallSendsEachItemAloneSoOnlyTheBadItemFails() throws Exception {
+        IllegalArgumentException invalid = new IllegalArgumentException("invalid item");
+        Function<List<String>, List<String>> rejectsBad = items -> {
+            calls.add(items);
+            if (items.contains("bad")) {
+                throw invalid;
+            }
+            return items.stream().map(String::toUpperCase).toList();
+        };
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(
+                rejectsBad, item -> rejectsBad.apply(List.of(item)).get(0), ex -> true, 2, Duration.ofMinutes(1),
+                executor);
+
+        CompletableFuture<String> good = batcher.submit("good");
+        CompletableFuture<String> bad = batcher.submit("bad");
+
+        assertEquals("GOOD", good.get(5, TimeUnit.SECONDS));
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertSame(invalid, ex.getCause());
+        assertEquals(List.of(List.of("good", "bad"), List.of("good"), List.of("bad")), calls);
+    }
+
+    @Test
+    void testSubmit_failureTheItemCallDoesNotAcceptFailsEveryItem() {
+        IllegalStateException throttled = new IllegalStateException("throttled");
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(items -> {
+            throw throttled;
+        }, String::toUpperCase, ex -> ex != throttled, 2, Duration.ofMinutes(1), executor);
+
+        CompletableFuture<String> first = batcher.submit("a");
+        CompletableFuture<String> second = batcher.submit("b");
+
+        for (CompletableFuture<String> result : List.of(first, second)) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(throttled, ex.getCause());
+        }
+    }
+
+    @Test
+    void testSubmit_resultCountMismatchFailsTheBatch() {
+        MicroBatcher<String, String> batcher =
+                new MicroBatcher<>(items -> List.of("only one"), 2, Duration.ofMinutes(1), executor);
+
+        CompletableFuture<String> first = batcher.submit("a");
+        batcher.submit("b");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    void testConstructor_rejectsNonPositiveBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MicroBatcher<>(this::upperCase, 0, Duration.ofMillis(5), executor));
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    @Test
+    void testQuantile_staysWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        Random random = new Random(42);
+        int[] values = new int[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 30000 + random.nextInt(470001);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double quantile : new double[] {0, 0.5, 0.9, 0.99, 1}) {
+            int exact = values[(int) (quantile * (values.length - 1))];
+            assertEquals(exact, sketch.quantile(quantile), exact * ACCURACY, "quantile " + quantile);
+        }
+        assertEquals(values.length, sketch.count());
+    }
+
+    @Test
+    void testMerge_matchesSketchOfAllValues() {
+        QuantileSketch all = new QuantileSketch(ACCURACY);
+        QuantileSketch low = new QuantileSketch(ACCURACY);
+        QuantileSketch high = new QuantileSketch(ACCURACY);
+        for (int value = 1; value <= 1000; value++) {
+            all.add(value * 100);
+            (value <= 500 ? low : high).add(value * 100);
+        }
+
+        QuantileSketch merged = new QuantileSketch(ACCURACY);
+        merged.merge(high);
+        merged.merge(low);
+
+        assertEquals(all.count(), merged.count());
+        for (double quantile : new double[] {0, 0.25, 0.5, 0.75, 1}) {
+            assertEquals(all.quantile(quantile), merged.quantile(quantile));
+        }
+    }
+
+    @Test
+    void testRemove_undoesAdd() {
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        sketch.add(0);
+        sketch.add(50000);
+        sketch.add(900000);
+
+        sketch.remove(900000);
+        sketch.remove(0);
+
+        assertEquals(1, sketch.count());
+        assertEquals(50000, sketch.quantile(1), 50000 * ACCURACY);
+        assertThrows(IllegalStateException.class, () -> sketch.remove(900000));
+    }
+
+    @Test
+    void testQuantile_emptySketchIsNaN() {
+        assertTrue(Double.isNaN(new QuantileSketch(ACCURACY).quantile(0.5)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SingleFlight<String, String> singleFlight;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, singleFlight.coalescedCount());
+    }
+
+    @Test
+    void testExecute_concurrentCallersShareOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("all", () -> {
+                loads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return "employees";
+            })));
+        }
+
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("employees", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.issuedCount());
+    }
+
+    @Test
+    void testExecute_sharesFailureWithWaitingCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("1", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("upstream down");
+            })));
+        }
+
+        awaitCoalesced(1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, ex.getCause());
+        }
+    }
+
+    @Test
+    void testExecute_doesNotCacheCompletedCalls() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("all", () -> "call-" + loads.incrementAndGet());
+        String second = singleFlight.execute("all", () -> "call-" + loads.incrementAndGet());
+
+        assertEquals("call-2", second);
+        assertEquals(2, singleFlight.issuedCount());
+        assertEquals(0, singleFlight.coalescedCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshotHolder;
+import com.reliaquest.api.config.AccessLogFilter;
+import com.reliaquest.api.config.AccessLogProperties;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.index.EmployeeIndexes;
+import com.reliaquest.api.index.IdIndex;
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeApiClient;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.UpstreamRequestCoalescer;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An indexed lookup by id behind the access-log filter, at different sample rates. A rate of 1 is what logging every
+ * request costs; compare its allocation rate ({@code gc.alloc.rate.norm}) with the default rate and with 0. The
+ * {@code legacy} case is the baseline the access log replaced: no filter, but the INFO lines the controller, service
+ * and client used to write for every lookup, including the fetched employee. All lines go to the benchmark's log
+ * file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    private static final String ROUTE = "/api/v1/employee/{id}";
+
+    private static final String LEGACY = "legacy";
+
+    private static final Logger CONTROLLER_LOG = LoggerFactory.getLogger(EmployeeController.class);
+
+    private static final Logger SERVICE_LOG = LoggerFactory.getLogger(EmployeeService.class);
+
+    private static final Logger CLIENT_LOG = LoggerFactory.getLogger(EmployeeApiClient.class);
+
+    @Param({LEGACY, "0", "0.01", "1"})
+    public String sampleRate;
+
+    private AccessLogFilter filter;
+
+    private HandlerMethod handler;
+
+    private FilterChain chain;
+
+    private String[] ids;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        List<Employee> directory = SampleEmployees.generate(1000);
+        IdIndex idIndex = new IdIndex();
+        EmployeeServiceBenchmark.InMemoryApiClient apiClient =
+                new EmployeeServiceBenchmark.InMemoryApiClient(directory);
+        UpstreamRequestCoalescer requestCoalescer = new UpstreamRequestCoalescer();
+        EmployeeSnapshotHolder snapshotHolder = new EmployeeSnapshotHolder(
+                apiClient,
+                requestCoalescer,
+                new EmployeeIndexes(List.of(idIndex)),
+                Runnable::run,
+                Integer.MAX_VALUE,
+                0,
+                false);
+        snapshotHolder.getSnapshot();
+
+        EmployeeService employeeService = EmployeeServiceBenchmark.newEmployeeService(
+                apiClient, requestCoalescer, snapshotHolder, idIndex, new SalaryIndex(), new NameIndex());
+
+        handler = new HandlerMethod(new Object(), EmployeeController.class.getMethod("getEmployeeById", String.class));
+        if (LEGACY.equals(sampleRate)) {
+            chain = (request, response) -> legacyGetEmployeeById(employeeService, request.getParameter("id"));
+        } else {
+            filter = new AccessLogFilter(new AccessLogProperties(
+                    true, Double.parseDouble(sampleRate), Duration.ofMinutes(1), Map.of()));
+            chain = (request, response) -> employeeService.getEmployeeById(request.getParameter("id"));
+        }
+        ids = directory.stream().map(Employee::getId).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getEmployeeById() throws Exception {
+        String id = ids[next++ % ids.length];
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee/" + id);
+        request.setParameter("id", id);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (filter != null) {
+            filter.doFilter(request, response, chain);
+        } else {
+            chain.doFilter(request, response);
+        }
+        return response;
+    }
+
+    /**
+     * The lookup with the INFO lines each layer wrote per request before the access log.
+     */
+    private static Employee legacyGetEmployeeById(EmployeeService employeeService, String id) {
+        CONTROLLER_LOG.info("Controller: Getting employeeById {}", id);
+        SERVICE_LOG.info("Service: Getting employee by id: {}", id);
+        CLIENT_LOG.info("Fetching employee with id: {}", id);
+        Employee employee = employeeService.getEmployeeById(id);
+        CLIENT_LOG.info("Successfully fetched employee: {}", employee);
+        return employee;
+    }
+}
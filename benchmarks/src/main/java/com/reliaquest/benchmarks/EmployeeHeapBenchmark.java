@@ -0,0 +1,106 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap retained by a deserialized full-list response, with job titles interned as the application does and with a
+ * fresh String per employee. The {@code retainedBytes} counter is the used heap after a full GC with the response
+ * held, minus the used heap after a full GC without it; the GC profiler adds the allocation per deserialization.
+ * <p>
+ * {@code ./gradlew benchmarks:jmh -Pjmh.includes=EmployeeHeapBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmployeeHeapBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> RESPONSE_TYPE = new TypeReference<>() {};
+
+    @Param({"100000", "1000000"})
+    public int employees;
+
+    @Param({"true", "false"})
+    public boolean internedTitles;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] json;
+
+    private ApiResponse<List<Employee>> retained;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        json = objectMapper.writeValueAsBytes(
+                new ApiResponse<>(SampleEmployees.generate(employees), "Successfully processed request."));
+        if (!internedTitles) {
+            objectMapper.addMixIn(Employee.class, PlainTitle.class);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void release() {
+        retained = null;
+    }
+
+    @Benchmark
+    public void deserialize(HeapCounters counters) throws IOException {
+        long before = usedHeapAfterGc();
+        retained = objectMapper.readValue(json, RESPONSE_TYPE);
+        counters.retainedBytes = usedHeapAfterGc() - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+
+        public long retainedBytes;
+    }
+
+    /**
+     * Replaces the interning deserializer on the title with Jackson's plain one.
+     */
+    abstract static class PlainTitle {
+
+        @JsonProperty("employee_title")
+        @JsonDeserialize(using = StringDeserializer.class)
+        private String employeeTitle;
+    }
+}
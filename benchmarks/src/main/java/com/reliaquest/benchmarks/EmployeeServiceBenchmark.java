@@ -0,0 +1,137 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshotHolder;
+import com.reliaquest.api.cache.MissingEmployeeCache;
+import com.reliaquest.api.index.EmployeeIndexes;
+import com.reliaquest.api.index.IdIndex;
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeStats;
+import com.reliaquest.api.service.EmployeeApiClient;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.UpstreamRequestCoalescer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The query paths of {@link EmployeeService} against an already loaded snapshot, in both the object and the columnar
+ * layout. The snapshot is loaded from an in-memory directory, so no mock server is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    @Param({"false", "true"})
+    public boolean columnar;
+
+    @Param("son")
+    public String searchFragment;
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        IdIndex idIndex = new IdIndex();
+        SalaryIndex salaryIndex = new SalaryIndex();
+        NameIndex nameIndex = new NameIndex();
+        InMemoryApiClient apiClient = new InMemoryApiClient(SampleEmployees.generate(employees));
+        UpstreamRequestCoalescer requestCoalescer = new UpstreamRequestCoalescer();
+        EmployeeSnapshotHolder snapshotHolder = new EmployeeSnapshotHolder(
+                apiClient,
+                requestCoalescer,
+                new EmployeeIndexes(List.of(idIndex, salaryIndex, nameIndex)),
+                Runnable::run,
+                Integer.MAX_VALUE,
+                0,
+                columnar);
+        snapshotHolder.getSnapshot();
+
+        employeeService =
+                newEmployeeService(apiClient, requestCoalescer, snapshotHolder, idIndex, salaryIndex, nameIndex);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNameSearch() {
+        return employeeService.getEmployeesByNameSearch(searchFragment);
+    }
+
+    @Benchmark
+    public Integer getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestSalariedEmployee() {
+        return employeeService.getTopTenHighestSalariedEmployee();
+    }
+
+    @Benchmark
+    public EmployeeStats getEmployeeStats() {
+        return employeeService.getEmployeeStats();
+    }
+
+    /**
+     * An employee service without the Spring context, with in-memory caches.
+     */
+    static EmployeeService newEmployeeService(
+            EmployeeApiClient apiClient,
+            UpstreamRequestCoalescer requestCoalescer,
+            EmployeeSnapshotHolder snapshotHolder,
+            IdIndex idIndex,
+            SalaryIndex salaryIndex,
+            NameIndex nameIndex) {
+        CacheManager cacheManager = new ConcurrentMapCacheManager();
+        return new EmployeeService(
+                apiClient,
+                requestCoalescer,
+                snapshotHolder,
+                new MissingEmployeeCache(cacheManager),
+                cacheManager,
+                idIndex,
+                salaryIndex,
+                nameIndex);
+    }
+
+    /**
+     * Streams a fixed directory instead of calling the mock server.
+     */
+    static class InMemoryApiClient extends EmployeeApiClient {
+
+        private final List<Employee> directory;
+
+        InMemoryApiClient(List<Employee> directory) {
+            super(null);
+            this.directory = directory;
+        }
+
+        @Override
+        public int streamAllEmployees(Consumer<Employee> consumer) {
+            directory.forEach(consumer);
+            return directory.size();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic employee directories shaped like the mock server's: random UUIDs, two-part names, salaries between
+ * 30,000 and 500,000, ages between 16 and 70 and a few dozen job titles.
+ */
+public final class SampleEmployees {
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth", "William",
+        "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen", "Anna", "Tyson"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin"
+    };
+
+    private static final String[] TITLES = {
+        "Software Engineer", "Senior Software Engineer", "Product Manager", "Data Analyst", "Designer", "Architect",
+        "Engineering Manager", "Accountant", "Sales Representative", "Support Specialist", "Recruiter", "Director",
+        "Marketing Coordinator", "Operations Manager", "Technical Writer", "Security Analyst", "QA Engineer", "Intern"
+    };
+
+    private SampleEmployees() {}
+
+    public static List<Employee> generate(int count) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    firstName + " " + lastName,
+                    30000 + random.nextInt(470001),
+                    16 + random.nextInt(55),
+                    TITLES[random.nextInt(TITLES.length)],
+                    (firstName + "." + lastName + i + "@company.com").toLowerCase(Locale.ROOT)));
+        }
+        return employees;
+    }
+}
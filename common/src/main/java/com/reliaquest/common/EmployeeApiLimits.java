@@ -0,0 +1,15 @@
+package com.reliaquest.common;
+
+/**
+ * Limits of the mock employee server's API that its client has to respect.
+ */
+public final class EmployeeApiLimits {
+
+    /**
+     * Most employees one request to a batch endpoint may create or delete.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private EmployeeApiLimits() {
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizes repeated string values so that equal values share one instance.
+ * <p>
+ * Bounded: once {@code maxEntries} distinct values are known, new values are returned as they are, so unexpected
+ * high-cardinality input cannot grow the dictionary without limit.
+ */
+public class StringDictionary {
+
+    private final Map<String, String> canonical = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    public StringDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = canonical.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (canonical.size() >= maxEntries) {
+            return value;
+        }
+        existing = canonical.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return canonical.size();
+    }
+}
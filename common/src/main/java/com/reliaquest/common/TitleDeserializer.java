@@ -0,0 +1,24 @@
+package com.reliaquest.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes job titles through {@link TitleDictionary}, so every employee with the same title references a single
+ * String.
+ */
+public class TitleDeserializer extends StdScalarDeserializer<String> {
+
+    public TitleDeserializer() {
+        super(String.class);
+    }
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return TitleDictionary.INSTANCE.intern(StringDeserializer.instance.deserialize(parser, context));
+    }
+}
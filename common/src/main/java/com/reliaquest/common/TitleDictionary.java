@@ -0,0 +1,18 @@
+package com.reliaquest.common;
+
+/**
+ * The {@link StringDictionary} shared by everything that holds job titles, so the server's seeded employees and the
+ * employees the api deserializes reference one String per distinct title.
+ */
+public final class TitleDictionary {
+
+    /**
+     * Most distinct titles kept; further titles are used as they are.
+     */
+    public static final int MAX_TITLES = 10_000;
+
+    public static final StringDictionary INSTANCE = new StringDictionary(MAX_TITLES);
+
+    private TitleDictionary() {
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    void testIntern_returnsSharedInstanceForEqualValues() {
+        StringDictionary dictionary = new StringDictionary(10);
+
+        String first = dictionary.intern(new String("Software Engineer"));
+        String second = dictionary.intern(new String("Software Engineer"));
+
+        assertSame(first, second);
+        assertNull(dictionary.intern(null));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void testIntern_passesNewValuesThroughOnceFull() {
+        StringDictionary dictionary = new StringDictionary(1);
+        dictionary.intern("Director");
+
+        String title = new String("Architect");
+
+        assertSame(title, dictionary.intern(title));
+        assertEquals(1, dictionary.size());
+    }
+}
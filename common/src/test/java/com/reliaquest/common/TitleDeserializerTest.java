@@ -0,0 +1,42 @@
+package com.reliaquest.common;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleDeserializerTest {
+
+    @Test
+    void testDeserialize_employeesShareOneTitleInstance() throws Exception {
+        String json = "[{\"employee_name\":\"Jane Smith\",\"employee_title\":\"Software Engineer\"},"
+                + "{\"employee_name\":\"John Doe\",\"employee_title\":\"Software Engineer\"}]";
+
+        List<TitledEmployee> employees = List.of(new ObjectMapper().readValue(json, TitledEmployee[].class));
+
+        assertEquals("Software Engineer", employees.get(0).title);
+        assertSame(employees.get(0).title, employees.get(1).title);
+        assertNotSame(employees.get(0).name, employees.get(1).name);
+    }
+
+    @Test
+    void testDeserialize_sharesTheTitleDictionary() throws Exception {
+        TitledEmployee employee =
+                new ObjectMapper().readValue("{\"employee_title\":\"Architect\"}", TitledEmployee.class);
+
+        assertSame(employee.title, TitleDictionary.INSTANCE.intern(new String("Architect")));
+    }
+
+    static class TitledEmployee {
+        @JsonProperty("employee_name")
+        String name;
+
+        @JsonProperty("employee_title")
+        @JsonDeserialize(using = TitleDeserializer.class)
+        String title;
+    }
+}
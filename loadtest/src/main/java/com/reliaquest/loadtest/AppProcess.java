@@ -0,0 +1,79 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One of the two Spring Boot applications, launched from its boot jar with output going to a log file.
+ */
+final class AppProcess implements AutoCloseable {
+
+    private final String name;
+
+    private final Process process;
+
+    private AppProcess(String name, Process process) {
+        this.name = name;
+        this.process = process;
+    }
+
+    /**
+     * Starts the jar and waits until it accepts connections on the given port.
+     */
+    static AppProcess launch(String name, String java, Path jar, List<String> args, int port, Duration timeout)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java, "-jar", jar.toString(), "--server.port=" + port));
+        command.addAll(args);
+        Path log = Path.of(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        AppProcess app = new AppProcess(name, process);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!accepts(port)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log.toAbsolutePath());
+            }
+            if (System.nanoTime() > deadline) {
+                app.close();
+                throw new IllegalStateException(name + " did not start within " + timeout + ", see " + log.toAbsolutePath());
+            }
+            Thread.sleep(250);
+        }
+        return app;
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " (pid " + process.pid() + ")";
+    }
+
+    private static boolean accepts(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 500);
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
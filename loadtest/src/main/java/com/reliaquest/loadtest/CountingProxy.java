@@ -0,0 +1,140 @@
+package com.reliaquest.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sits between the api and the mock server and counts every upstream response by status, which is what the mock
+ * server's rate limit meters. Bodies and headers are passed through unchanged, compressed responses included.
+ */
+final class CountingProxy implements AutoCloseable {
+
+    /**
+     * Status counted when the mock server could not be reached.
+     */
+    static final int BAD_GATEWAY = 502;
+
+    /**
+     * Connection-level headers, plus those the JDK client refuses to set.
+     */
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection",
+            "content-length",
+            "date",
+            "expect",
+            "from",
+            "host",
+            "keep-alive",
+            "transfer-encoding",
+            "upgrade",
+            "via",
+            "warning");
+
+    private final HttpServer server;
+
+    private final ExecutorService handlers = Executors.newCachedThreadPool();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final URI target;
+
+    private final ConcurrentMap<Integer, LongAdder> responses = new ConcurrentHashMap<>();
+
+    private CountingProxy(int port, URI target) throws IOException {
+        this.target = target;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        server.createContext("/", this::forward);
+        server.setExecutor(handlers);
+    }
+
+    static CountingProxy start(int port, URI target) throws IOException {
+        CountingProxy proxy = new CountingProxy(port, target);
+        proxy.server.start();
+        return proxy;
+    }
+
+    /**
+     * Upstream responses so far, by status.
+     */
+    Map<Integer, Long> counts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        responses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void forward(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + exchange.getRequestURI().toString()))
+                    .method(
+                            exchange.getRequestMethod(),
+                            body.length == 0
+                                    ? HttpRequest.BodyPublishers.noBody()
+                                    : HttpRequest.BodyPublishers.ofByteArray(body));
+            exchange.getRequestHeaders().forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> request.header(name, value));
+                }
+            });
+
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException ex) {
+                count(BAD_GATEWAY);
+                exchange.sendResponseHeaders(BAD_GATEWAY, -1);
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(BAD_GATEWAY, -1);
+                return;
+            }
+
+            count(response.statusCode());
+            response.headers().map().forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                    exchange.getResponseHeaders().put(name, List.copyOf(values));
+                }
+            });
+            byte[] responseBody = response.body();
+            exchange.sendResponseHeaders(response.statusCode(), responseBody.length == 0 ? -1 : responseBody.length);
+            if (responseBody.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(responseBody);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void count(int status) {
+        responses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+}
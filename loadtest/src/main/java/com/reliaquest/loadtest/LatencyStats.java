@@ -0,0 +1,121 @@
+package com.reliaquest.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and response statuses per operation. Latencies are measured from each request's intended send time, so a
+ * stalled api shows up in the percentiles instead of silently slowing the request rate (coordinated omission).
+ */
+final class LatencyStats {
+
+    /**
+     * Status recorded for requests that failed without a response.
+     */
+    static final int NO_RESPONSE = -1;
+
+    private final Map<Operation, ConcurrentHistogram> latencies = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, ConcurrentMap<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+
+    LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        statuses.get(operation).computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long responsesWithStatus(int status) {
+        return statuses.values().stream()
+                .mapToLong(byStatus -> byStatus.containsKey(status) ? byStatus.get(status).sum() : 0)
+                .sum();
+    }
+
+    void print(PrintStream out) {
+        printHeader(out, "endpoint");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+            if (histogram.getTotalCount() > 0) {
+                printRow(out, operation.optionName(), histogram, statuses.get(operation));
+            }
+        }
+        printTotal(out, "all");
+    }
+
+    static void printHeader(PrintStream out, String firstColumn) {
+        out.printf(
+                "%-14s %9s %9s %9s %9s %9s %7s %7s %7s %7s %7s%n",
+                firstColumn, "requests", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "2xx", "4xx", "429", "5xx", "failed");
+    }
+
+    /**
+     * Prints one row over all operations.
+     */
+    void printTotal(PrintStream out, String name) {
+        Histogram total = new Histogram(3);
+        latencies.values().forEach(histogram -> total.add(histogram.copy()));
+        ConcurrentMap<Integer, LongAdder> allStatuses = new ConcurrentHashMap<>();
+        statuses.values().forEach(byStatus -> byStatus.forEach((status, count) -> allStatuses
+                .computeIfAbsent(status, code -> new LongAdder())
+                .add(count.sum())));
+        printRow(out, name, total, allStatuses);
+    }
+
+    private static void printRow(
+            PrintStream out, String name, Histogram histogram, Map<Integer, LongAdder> byStatus) {
+        long ok = 0;
+        long clientErrors = 0;
+        long throttled = 0;
+        long serverErrors = 0;
+        long failed = 0;
+        for (Map.Entry<Integer, LongAdder> entry : byStatus.entrySet()) {
+            int status = entry.getKey();
+            long count = entry.getValue().sum();
+            if (status == NO_RESPONSE) {
+                failed += count;
+            } else if (status == 429) {
+                throttled += count;
+            } else if (status >= 500) {
+                serverErrors += count;
+            } else if (status >= 400) {
+                clientErrors += count;
+            } else {
+                ok += count;
+            }
+        }
+        out.printf(
+                "%-14s %9d %9.2f %9.2f %9.2f %9.2f %7d %7d %7d %7d %7d%n",
+                name,
+                histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                ok,
+                clientErrors,
+                throttled,
+                serverErrors,
+                failed);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,237 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the api. Requests are sent at a fixed rate whatever the api's response times, drawn
+ * from a weighted mix of the {@code IEmployeeController} endpoints. Latency percentiles are reported per endpoint,
+ * together with the upstream requests and 429s the run caused at the mock server.
+ * <p>
+ * Given both boot jars, the harness launches the mock server, a counting proxy in front of it and the api pointed at
+ * the proxy, and stops all three when done. Nothing from the warm-up period is counted. To compare the api's threading
+ * modes, the whole run can be repeated with the api on platform and then on virtual threads, both facing the same
+ * mock server rate limit and its 429 back-off.
+ */
+public final class LoadTest {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        if (!options.compareThreading()) {
+            launchAndRun(options, List.of(), System.out);
+            return;
+        }
+        Map<String, LatencyStats> byMode = new LinkedHashMap<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            System.out.printf("%n=== api on %s threads ===%n", mode);
+            byMode.put(mode, launchAndRun(options, List.of("--spring.threads.virtual.enabled=" + virtual), System.out));
+        }
+        System.out.printf("%nAll endpoints by api threading mode:%n");
+        LatencyStats.printHeader(System.out, "threads");
+        byMode.forEach((mode, stats) -> stats.printTotal(System.out, mode));
+    }
+
+    /**
+     * Launches the applications if given their jars, runs the load against the api and stops them again.
+     *
+     * @param extraApiArgs arguments passed to the api after the configured ones
+     */
+    private static LatencyStats launchAndRun(LoadTestOptions options, List<String> extraApiArgs, PrintStream out)
+            throws Exception {
+        List<AutoCloseable> resources = Collections.synchronizedList(new ArrayList<>());
+        Thread cleanup = new Thread(() -> closeAll(resources));
+        Runtime.getRuntime().addShutdownHook(cleanup);
+        try {
+            CountingProxy proxy = null;
+            if (options.launchesApps()) {
+                resources.add(AppProcess.launch(
+                        "server",
+                        options.java(),
+                        options.serverJar(),
+                        options.serverArgs(),
+                        options.serverPort(),
+                        options.startupTimeout()));
+                proxy = CountingProxy.start(options.proxyPort(), URI.create("http://localhost:" + options.serverPort()));
+                resources.add(proxy);
+                List<String> apiArgs = new ArrayList<>();
+                apiArgs.add("--mockserver.base-url=http://localhost:" + options.proxyPort() + EMPLOYEE_PATH);
+                apiArgs.addAll(options.apiArgs());
+                apiArgs.addAll(extraApiArgs);
+                resources.add(AppProcess.launch(
+                        "api", options.java(), options.apiJar(), apiArgs, options.apiPort(), options.startupTimeout()));
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            URI baseUri = URI.create("http://localhost:" + options.apiPort() + EMPLOYEE_PATH);
+            Workload workload = new Workload(baseUri, loadDirectory(client, baseUri, options.startupTimeout()));
+            return run(options, client, workload, proxy, out);
+        } finally {
+            closeAll(resources);
+            Runtime.getRuntime().removeShutdownHook(cleanup);
+        }
+    }
+
+    private static LatencyStats run(
+            LoadTestOptions options, HttpClient client, Workload workload, CountingProxy proxy, PrintStream out)
+            throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        Random random = new Random(7);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long warmupNanos = options.warmup().toNanos();
+        long totalNanos = warmupNanos + options.duration().toNanos();
+
+        out.printf(
+                "Sending %.0f requests/s for %s after a %s warm-up, mix %s%n",
+                options.rate(), options.duration(), options.warmup(), options.mix());
+        Map<Integer, Long> upstreamAtStart = null;
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart - start >= totalNanos) {
+                break;
+            }
+            boolean measured = intendedStart - start >= warmupNanos;
+            if (measured && upstreamAtStart == null) {
+                upstreamAtStart = proxy == null ? Map.of() : proxy.counts();
+            }
+            sleepUntil(intendedStart);
+            // waiting here still counts against the request, since its latency runs from the intended start
+            inFlight.acquire();
+            Workload.Call call = workload.resolve(options.mix().pick(random));
+            Operation operation = call.operation();
+            client.sendAsync(workload.request(call, random), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        try {
+                            if (measured) {
+                                stats.record(
+                                        operation,
+                                        System.nanoTime() - intendedStart,
+                                        response == null ? LatencyStats.NO_RESPONSE : response.statusCode());
+                            }
+                            workload.onResponse(operation, response);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        if (!inFlight.tryAcquire(options.maxInFlight(), DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            out.println("Some requests were still in flight after " + DRAIN_TIMEOUT + " and are not counted");
+        }
+
+        out.println();
+        stats.print(out);
+        long requests = stats.requests();
+        out.printf("%nAchieved %.1f requests/s, api 429 rate %.2f%%%n",
+                requests / (options.duration().toNanos() / 1e9),
+                percent(stats.responsesWithStatus(429), requests));
+        if (proxy != null) {
+            printUpstream(out, upstreamAtStart == null ? Map.of() : upstreamAtStart, proxy.counts(), requests);
+        }
+        return stats;
+    }
+
+    private static void printUpstream(
+            PrintStream out, Map<Integer, Long> atStart, Map<Integer, Long> atEnd, long apiRequests) {
+        long upstreamRequests = 0;
+        long throttled = 0;
+        StringBuilder byStatus = new StringBuilder();
+        for (Map.Entry<Integer, Long> entry : atEnd.entrySet()) {
+            long count = entry.getValue() - atStart.getOrDefault(entry.getKey(), 0L);
+            if (count == 0) {
+                continue;
+            }
+            upstreamRequests += count;
+            if (entry.getKey() == 429) {
+                throttled = count;
+            }
+            byStatus.append(byStatus.isEmpty() ? "" : ", ").append(entry.getKey()).append('=').append(count);
+        }
+        out.printf(
+                "Upstream: %d requests (%s), 429 rate %.2f%%, %.3f upstream requests per api request%n",
+                upstreamRequests,
+                byStatus,
+                percent(throttled, upstreamRequests),
+                apiRequests == 0 ? 0.0 : (double) upstreamRequests / apiRequests);
+    }
+
+    /**
+     * Waits for the api to serve the full list, which it loads through the mock server's rate limit, and returns the
+     * ids in it.
+     */
+    private static List<String> loadDirectory(HttpClient client, URI baseUri, Duration timeout)
+            throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri).GET().timeout(timeout).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return Workload.ids(response.body());
+                }
+            } catch (IOException ex) {
+                // not ready yet
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The api did not return the employee list within " + timeout);
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0.0 : 100.0 * part / total;
+    }
+
+    private static void closeAll(List<AutoCloseable> resources) {
+        synchronized (resources) {
+            for (int i = resources.size() - 1; i >= 0; i--) {
+                try {
+                    resources.get(i).close();
+                } catch (Exception ex) {
+                    System.err.println("Failed to stop " + resources.get(i) + ": " + ex.getMessage());
+                }
+            }
+            resources.clear();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. The jar locations default to the {@code loadtest.api-jar} and
+ * {@code loadtest.server-jar} system properties set by the Gradle {@code run} task; without an api jar the harness
+ * drives an api that is already running and cannot count upstream calls. With {@code --compare-threading=true} the
+ * same load runs twice, against an api on platform threads and then on virtual threads.
+ */
+record LoadTestOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Mix mix,
+        int maxInFlight,
+        Path apiJar,
+        Path serverJar,
+        String java,
+        List<String> apiArgs,
+        List<String> serverArgs,
+        int apiPort,
+        int serverPort,
+        int proxyPort,
+        Duration startupTimeout,
+        boolean compareThreading) {
+
+    private static final List<String> NAMES = List.of(
+            "rate",
+            "duration",
+            "warmup",
+            "mix",
+            "max-in-flight",
+            "api-jar",
+            "server-jar",
+            "java",
+            "api-args",
+            "server-args",
+            "api-port",
+            "server-port",
+            "proxy-port",
+            "startup-timeout",
+            "compare-threading");
+
+    static final String DEFAULT_MIX = "byId=50,search=15,highestSalary=10,topTen=10,getAll=5,create=5,delete=5";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + NAMES);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+        String apiJar = values.getOrDefault("api-jar", System.getProperty("loadtest.api-jar"));
+        String serverJar = values.getOrDefault("server-jar", System.getProperty("loadtest.server-jar"));
+        LoadTestOptions options = new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "100")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                Mix.parse(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1000")),
+                apiJar == null || apiJar.isBlank() ? null : Path.of(apiJar),
+                serverJar == null || serverJar.isBlank() ? null : Path.of(serverJar),
+                values.getOrDefault(
+                        "java", ProcessHandle.current().info().command().orElse("java")),
+                words(values.get("api-args")),
+                words(values.get("server-args")),
+                Integer.parseInt(values.getOrDefault("api-port", "8111")),
+                Integer.parseInt(values.getOrDefault("server-port", "8112")),
+                Integer.parseInt(values.getOrDefault("proxy-port", "8113")),
+                duration(values.getOrDefault("startup-timeout", "2m")),
+                Boolean.parseBoolean(values.getOrDefault("compare-threading", "false")));
+        if (options.rate() <= 0 || options.maxInFlight() < 1) {
+            throw new IllegalArgumentException("--rate and --max-in-flight must be positive");
+        }
+        if ((options.apiJar() == null) != (options.serverJar() == null)) {
+            throw new IllegalArgumentException("--api-jar and --server-jar must be given together");
+        }
+        if (options.compareThreading() && !options.launchesApps()) {
+            throw new IllegalArgumentException("--compare-threading needs the jars, since it restarts the api");
+        }
+        return options;
+    }
+
+    boolean launchesApps() {
+        return apiJar != null;
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 2m} or an ISO-8601 duration.
+     */
+    static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration " + value);
+        };
+    }
+
+    private static List<String> words(String value) {
+        return value == null || value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A weighted choice of operations, parsed from {@code name=weight} pairs such as {@code byId=50,search=15}.
+ */
+record Mix(List<Operation> operations, double[] cumulativeWeights) {
+
+    static Mix parse(String value) {
+        List<Operation> operations = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String pair : value.split(",")) {
+            String[] parts = pair.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight in --mix but got " + pair);
+            }
+            double weight = Double.parseDouble(parts[1]);
+            if (weight > 0) {
+                operations.add(Operation.byOptionName(parts[0]));
+                weights.add(weight);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        double[] cumulative = new double[weights.size()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        return new Mix(List.copyOf(operations), cumulative);
+    }
+
+    Operation pick(Random random) {
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        double previous = 0;
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(operations.get(i).optionName()).append('=').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.loadtest;
+
+/**
+ * The {@code IEmployeeController} endpoints the harness can drive, named as in the {@code --mix} option.
+ */
+enum Operation {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    BY_ID("byId"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String optionName;
+
+    Operation(String optionName) {
+        this.optionName = optionName;
+    }
+
+    String optionName() {
+        return optionName;
+    }
+
+    static Operation byOptionName(String name) {
+        for (Operation operation : values()) {
+            if (operation.optionName.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + name);
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns operations into requests against the api. Lookups use ids from the directory loaded at start; deletes only
+ * remove employees this run created, so the directory keeps its size. A delete with nothing left to remove is sent as
+ * a lookup instead.
+ */
+final class Workload {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final String[] SEARCH_FRAGMENTS = {"an", "son", "mar", "li", "er", "jo", "ste", "ann", "el", "ra"};
+
+    private static final String[] TITLES = {"Engineer", "Designer", "Analyst", "Manager", "Consultant"};
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final URI baseUri;
+
+    private final List<String> knownIds;
+
+    private final ConcurrentLinkedDeque<String> createdIds = new ConcurrentLinkedDeque<>();
+
+    Workload(URI baseUri, List<String> knownIds) {
+        if (knownIds.isEmpty()) {
+            throw new IllegalArgumentException("The employee directory is empty");
+        }
+        this.baseUri = baseUri;
+        this.knownIds = knownIds;
+    }
+
+    static List<String> ids(String json) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(json);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    /**
+     * The call that will actually be sent for the operation picked from the mix. A delete takes its id here, so the
+     * operation recorded for a call is always the one its request performs.
+     */
+    Call resolve(Operation picked) {
+        if (picked != Operation.DELETE) {
+            return new Call(picked, null);
+        }
+        String id = createdIds.pollFirst();
+        return id == null ? new Call(Operation.BY_ID, null) : new Call(Operation.DELETE, id);
+    }
+
+    HttpRequest request(Call call, Random random) {
+        return switch (call.operation()) {
+            case GET_ALL -> get("");
+            case SEARCH -> get("/search/" + SEARCH_FRAGMENTS[random.nextInt(SEARCH_FRAGMENTS.length)]);
+            case BY_ID -> get("/" + knownIds.get(random.nextInt(knownIds.size())));
+            case HIGHEST_SALARY -> get("/highestSalary");
+            case TOP_TEN -> get("/topTenHighestEarningEmployeeNames");
+            case CREATE -> builder("")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(("{\"name\":\"Load Test %d\",\"salary\":%d,"
+                                    + "\"age\":%d,\"title\":\"%s\"}")
+                            .formatted(
+                                    random.nextInt(1_000_000),
+                                    30000 + random.nextInt(470001),
+                                    16 + random.nextInt(55),
+                                    TITLES[random.nextInt(TITLES.length)])))
+                    .build();
+            case DELETE -> builder("/" + call.employeeId()).DELETE().build();
+        };
+    }
+
+    void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation == Operation.CREATE && response != null && response.statusCode() == 200) {
+            List<String> created = ids(response.body());
+            if (!created.isEmpty()) {
+                createdIds.addLast(created.get(0));
+            }
+        }
+    }
+
+    /**
+     * An operation and, for a delete, the id of the employee it removes.
+     */
+    record Call(Operation operation, String employeeId) {}
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(REQUEST_TIMEOUT);
+    }
+}
@@ -1,22 +1,30 @@
 package com.reliaquest.server.controller;
 
+import static com.reliaquest.common.EmployeeApiLimits.MAX_BATCH_SIZE;
+
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeListing;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,11 +32,49 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final MockEmployeeListing mockEmployeeListing;
+
+    /*
+     * Serves the pre-serialized listing; a matching If-None-Match is answered with 304 by Spring from the ETag. The
+     * gzipped body has its own ETag, so a validator for one coding never revalidates the other.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        final var snapshot = mockEmployeeListing.current();
+        final var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(snapshot.gzippedEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.gzipped());
+        }
+        return response.eTag(snapshot.etag()).body(snapshot.json());
+    }
+
+    /*
+     * Cursor-based page of the listing, in the same response shape; the cursor for the next page is returned in the
+     * X-Next-Cursor header, which is absent on the last page.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeePage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) Long cursor) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be positive"));
+        }
+        final var page = mockEmployeeService.getMockEmployeePage(cursor, Math.min(limit, MAX_PAGE_SIZE));
+        final var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(Response.handledWith(page.employees()));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +94,63 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Bulk variants: one request, and so one unit of the request limit, for up to MAX_BATCH_SIZE employees.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<MockEmployee>>> createEmployees(
+            @Valid @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("batch must not exceed " + MAX_BATCH_SIZE));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(inputs)));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<Response<List<Boolean>>> deleteEmployees(
+            @Valid @RequestBody List<DeleteMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("batch must not exceed " + MAX_BATCH_SIZE));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.deleteAll(inputs)));
+    }
+
+    /**
+     * Whether the Accept-Encoding header allows gzip, either by name or through {@code *} when gzip is not listed.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        var wildcard = 0.0;
+        for (final var coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            final var parts = coding.split(";");
+            final var name = parts[0].trim();
+            if (name.equals("gzip")) {
+                return qValue(parts) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = qValue(parts);
+            }
+        }
+        return wildcard > 0;
+    }
+
+    /**
+     * The {@code q} parameter of one coding, 1 when absent and 0 when it is not a number.
+     */
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final var parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equals("q")) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
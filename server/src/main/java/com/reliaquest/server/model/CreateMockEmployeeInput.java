@@ -1,5 +1,7 @@
 package com.reliaquest.server.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.reliaquest.common.TitleDeserializer;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -20,5 +22,6 @@ public class CreateMockEmployeeInput {
     @NotNull private Integer age;
 
     @NotBlank
+    @JsonDeserialize(using = TitleDeserializer.class)
     private String title;
 }
@@ -0,0 +1,89 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized form of the full employee list, built once per {@link MockEmployeeStore} version.
+ * <p>
+ * The first read after a mutation copies the store, serializes the response and gzips it; every further read of the
+ * same version just writes the cached bytes. The ETag combines the store version with an id of this server instance,
+ * so tags from before a restart never match.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MockEmployeeListing {
+
+    private static final String INSTANCE = UUID.randomUUID().toString().substring(0, 8);
+
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    public Snapshot current() {
+        final var cached = snapshot;
+        if (cached != null && cached.version() == mockEmployeeStore.version()) {
+            return cached;
+        }
+        return rebuild();
+    }
+
+    private synchronized Snapshot rebuild() {
+        final var version = mockEmployeeStore.version();
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot;
+        }
+        final var json = serialize();
+        final var rebuilt = new Snapshot(version, "%s-%d".formatted(INSTANCE, version), json, gzip(json));
+        log.debug(
+                "Serialized employee listing version {} ({} bytes, {} gzipped)",
+                version,
+                json.length,
+                rebuilt.gzipped().length);
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private byte[] serialize() {
+        try {
+            return objectMapper.writeValueAsBytes(Response.handledWith(mockEmployeeStore.findAll()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize employee listing", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        final var buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (var out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * One immutable listing version: its ETag value and the response body, plain and gzipped.
+     */
+    public record Snapshot(long version, String etag, byte[] json, byte[] gzipped) {
+
+        /**
+         * ETag of the gzipped body; a strong validator must differ between content codings of the same version.
+         */
+        public String gzippedEtag() {
+            return etag + "-gzip";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+
+/**
+ * Thread-safe in-memory storage for mock employees.
+ * <p>
+ * Employees are indexed by id and by case-insensitive name, and kept in insertion order for listing. Reads never lock;
+ * writes to the same name are serialized through the name index, so a delete always removes the oldest employee with
+ * that name, as the list-backed implementation did.
+ */
+public class MockEmployeeStore {
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+
+    private final Map<String, Deque<UUID>> idsByName = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, MockEmployee> inInsertionOrder = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    private final AtomicLong version = new AtomicLong();
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final var entry = byId.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.employee());
+    }
+
+    public void add(@NonNull MockEmployee mockEmployee) {
+        final var entry = new Entry(nextSequence.getAndIncrement(), mockEmployee);
+        final var previous = byId.put(mockEmployee.getId(), entry);
+        if (previous != null) {
+            inInsertionOrder.remove(previous.sequence());
+            unindexName(previous.employee());
+        }
+        inInsertionOrder.put(entry.sequence(), mockEmployee);
+        if (mockEmployee.getName() != null) {
+            idsByName.compute(nameKey(mockEmployee.getName()), (name, ids) -> {
+                final var updated = ids == null ? new ArrayDeque<UUID>(1) : ids;
+                updated.addLast(mockEmployee.getId());
+                return updated;
+            });
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Removes the oldest employee with the given name, ignoring case.
+     */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var removed = new AtomicReference<MockEmployee>();
+        idsByName.computeIfPresent(nameKey(name), (key, ids) -> {
+            Entry entry = null;
+            while (entry == null && !ids.isEmpty()) {
+                entry = byId.remove(ids.pollFirst());
+            }
+            if (entry != null) {
+                inInsertionOrder.remove(entry.sequence());
+                removed.set(entry.employee());
+            }
+            return ids.isEmpty() ? null : ids;
+        });
+        if (removed.get() != null) {
+            version.incrementAndGet();
+        }
+        return Optional.ofNullable(removed.get());
+    }
+
+    /**
+     * Returns a point-in-time copy of all employees in insertion order.
+     */
+    public List<MockEmployee> findAll() {
+        return new ArrayList<>(inInsertionOrder.values());
+    }
+
+    /**
+     * Returns up to {@code limit} employees inserted after the one at {@code afterSequence}, in insertion order. A
+     * cursor stays valid across concurrent creates and deletes, since sequence numbers are never reused.
+     *
+     * @param afterSequence the {@link Page#nextCursor()} of the previous page, or {@code null} for the first page
+     */
+    public Page findPage(Long afterSequence, int limit) {
+        final var tail = afterSequence == null ? inInsertionOrder : inInsertionOrder.tailMap(afterSequence, false);
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        Long last = null;
+        for (final var entry : tail.entrySet()) {
+            if (employees.size() == limit) {
+                return new Page(employees, last);
+            }
+            employees.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(employees, null);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Increases with every successful mutation.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    private void unindexName(MockEmployee mockEmployee) {
+        if (mockEmployee.getName() != null) {
+            idsByName.computeIfPresent(nameKey(mockEmployee.getName()), (name, ids) -> {
+                ids.remove(mockEmployee.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One page of a listing; {@code nextCursor} is {@code null} on the last page.
+     */
+    public record Page(List<MockEmployee> employees, Long nextCursor) {}
+
+    private record Entry(long sequence, MockEmployee employee) {}
+}
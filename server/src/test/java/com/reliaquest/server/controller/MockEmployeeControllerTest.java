@@ -0,0 +1,126 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeListing;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.Locale;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+
+    private final MockEmployeeListing listing = new MockEmployeeListing(store, new ObjectMapper());
+
+    private final MockEmployeeController controller =
+            new MockEmployeeController(new MockEmployeeService(new Faker(Locale.ROOT), store), listing);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private void addEmployees(int count) {
+        for (int i = 0; i < count; i++) {
+            store.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + i)
+                    .salary(50000)
+                    .age(30)
+                    .title("Engineer")
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+    }
+
+    @Test
+    void acceptsGzipOnlyWhenItsQualityIsPositive() {
+        assertFalse(MockEmployeeController.acceptsGzip(null));
+        assertFalse(MockEmployeeController.acceptsGzip(""));
+        assertTrue(MockEmployeeController.acceptsGzip("gzip"));
+        assertTrue(MockEmployeeController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertFalse(MockEmployeeController.acceptsGzip("deflate, br"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=0"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=0.0"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip; q = 0.000"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=abc"));
+    }
+
+    @Test
+    void wildcardCoversGzipUnlessGzipIsListed() {
+        assertTrue(MockEmployeeController.acceptsGzip("*"));
+        assertTrue(MockEmployeeController.acceptsGzip("br;q=0, *;q=0.1"));
+        assertFalse(MockEmployeeController.acceptsGzip("*;q=0"));
+        assertFalse(MockEmployeeController.acceptsGzip("gzip;q=0, *"));
+        assertFalse(MockEmployeeController.acceptsGzip("*, gzip;q=0"));
+        assertTrue(MockEmployeeController.acceptsGzip("*;q=0, gzip"));
+    }
+
+    @Test
+    void listingIsGzippedOnlyWhenAccepted() throws Exception {
+        addEmployees(3);
+        final var snapshot = listing.current();
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + snapshot.gzippedEtag() + "\""))
+                .andExpect(content().bytes(snapshot.gzipped()));
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + snapshot.etag() + "\""))
+                .andExpect(content().bytes(snapshot.json()));
+    }
+
+    @Test
+    void etagOnlyRevalidatesItsOwnEncoding() throws Exception {
+        addEmployees(3);
+        final var snapshot = listing.current();
+        final var identityEtag = "\"" + snapshot.etag() + "\"";
+
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, identityEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/employee")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, identityEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(snapshot.gzipped()));
+
+        addEmployees(1);
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, identityEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void pageSizeIsClampedAndCursorReturnedUntilTheLastPage() throws Exception {
+        addEmployees(1500);
+
+        final var first = controller.getEmployeePage(5000, null);
+        assertEquals(1000, first.getBody().data().size());
+        final var cursor = first.getHeaders().getFirst(MockEmployeeController.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        final var last = controller.getEmployeePage(5000, Long.valueOf(cursor));
+        assertEquals(500, last.getBody().data().size());
+        assertFalse(last.getHeaders().containsKey(MockEmployeeController.NEXT_CURSOR_HEADER));
+
+        mockMvc.perform(get("/api/v1/employee").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeListingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+
+    private final MockEmployeeListing listing = new MockEmployeeListing(store, objectMapper);
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+
+    @Test
+    void sameVersionIsServedFromTheSameSnapshot() {
+        store.add(employee("Jane Doe"));
+
+        final var first = listing.current();
+
+        assertSame(first, listing.current());
+        assertEquals(store.version(), first.version());
+    }
+
+    @Test
+    void mutationPublishesNewVersionWithNewEtag() {
+        store.add(employee("Jane Doe"));
+        final var before = listing.current();
+
+        store.add(employee("John Doe"));
+        final var afterAdd = listing.current();
+        store.removeByName("Nobody");
+
+        assertTrue(afterAdd.version() > before.version());
+        assertNotEquals(before.etag(), afterAdd.etag());
+        assertSame(afterAdd, listing.current());
+    }
+
+    @Test
+    void bodiesMatchTheSerializedListing() throws Exception {
+        store.add(employee("Jane Doe"));
+        store.add(employee("John Doe"));
+
+        final var snapshot = listing.current();
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(Response.handledWith(store.findAll())), snapshot.json());
+        try (var gunzipped = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzipped()))) {
+            assertArrayEquals(snapshot.json(), gunzipped.readAllBytes());
+        }
+    }
+
+    @Test
+    void gzippedBodyHasItsOwnEtag() {
+        final var snapshot = listing.current();
+
+        assertNotEquals(snapshot.etag(), snapshot.gzippedEtag());
+        assertTrue(snapshot.gzippedEtag().startsWith(snapshot.etag()));
+    }
+}
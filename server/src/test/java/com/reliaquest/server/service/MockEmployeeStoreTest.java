@@ -0,0 +1,147 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    private final MockEmployeeStore store = new MockEmployeeStore();
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Engineer")
+                .email(name.toLowerCase().replace(' ', '.') + "@company.com")
+                .build();
+    }
+
+    @Test
+    void findsAddedEmployeesByIdAndInInsertionOrder() {
+        final var first = employee("Jane Doe");
+        final var second = employee("John Doe");
+        store.add(first);
+        store.add(second);
+
+        assertEquals(first, store.findById(first.getId()).orElseThrow());
+        assertTrue(store.findById(UUID.randomUUID()).isEmpty());
+        assertEquals(List.of(first, second), store.findAll());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void removeByNameRemovesOldestMatchIgnoringCase() {
+        final var oldest = employee("Jane Doe");
+        final var other = employee("John Doe");
+        final var newest = employee("JANE DOE");
+        store.add(oldest);
+        store.add(other);
+        store.add(newest);
+
+        assertEquals(oldest, store.removeByName("jane doe").orElseThrow());
+        assertEquals(newest, store.removeByName("Jane Doe").orElseThrow());
+        assertTrue(store.removeByName("Jane Doe").isEmpty());
+        assertEquals(List.of(other), store.findAll());
+    }
+
+    @Test
+    void addingAnExistingIdReplacesTheEmployee() {
+        final var original = employee("Jane Doe");
+        final var renamed = original.toBuilder().name("Jane Smith").build();
+        store.add(original);
+        store.add(renamed);
+
+        assertEquals(List.of(renamed), store.findAll());
+        assertTrue(store.removeByName("Jane Doe").isEmpty());
+        assertEquals(renamed, store.removeByName("Jane Smith").orElseThrow());
+    }
+
+    @Test
+    void versionIncreasesOnlyWithSuccessfulMutations() {
+        final var initial = store.version();
+        store.add(employee("Jane Doe"));
+        final var afterAdd = store.version();
+        store.removeByName("Nobody");
+
+        assertTrue(afterAdd > initial);
+        assertEquals(afterAdd, store.version());
+        store.removeByName("Jane Doe");
+        assertTrue(store.version() > afterAdd);
+    }
+
+    @Test
+    void pagesContinueAfterTheirCursorAcrossWrites() {
+        final var employees = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 5; i++) {
+            employees.add(employee("Employee " + i));
+            store.add(employees.get(i));
+        }
+
+        final var first = store.findPage(null, 2);
+        assertEquals(employees.subList(0, 2), first.employees());
+        assertNotNull(first.nextCursor());
+
+        // the last employee of the page and one of the next page go away, and a new one is appended
+        store.removeByName("Employee 1");
+        store.removeByName("Employee 3");
+        final var appended = employee("Employee 5");
+        store.add(appended);
+
+        final var second = store.findPage(first.nextCursor(), 2);
+        assertEquals(List.of(employees.get(2), employees.get(4)), second.employees());
+        final var last = store.findPage(second.nextCursor(), 2);
+        assertEquals(List.of(appended), last.employees());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void pagingSeesEveryEmployeeOnceWhileOthersAreAddedConcurrently() throws Exception {
+        final var existing = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 2000; i++) {
+            existing.add(employee("Existing " + i));
+            store.add(existing.get(i));
+        }
+        final ExecutorService writers = Executors.newFixedThreadPool(4);
+        final var start = new CountDownLatch(1);
+        final var writes = new ArrayList<Future<?>>();
+        for (int writer = 0; writer < 4; writer++) {
+            final var prefix = "Writer " + writer + " ";
+            writes.add(writers.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    store.add(employee(prefix + i));
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        final var seen = new ArrayList<MockEmployee>();
+        Long cursor = null;
+        do {
+            final var page = store.findPage(cursor, 100);
+            seen.addAll(page.employees());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        for (final var write : writes) {
+            write.get(10, TimeUnit.SECONDS);
+        }
+        writers.shutdown();
+
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+        assertEquals(existing, seen.subList(0, existing.size()));
+    }
+}